@@ -0,0 +1,41 @@
+package com.journal.journalbackend.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.journal.journalbackend.dto.response.EntryResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.time.Duration;
+
+@Configuration
+public class CacheConfig {
+    public static final String ENTRY_CACHE = "entries";
+
+    // Redis-backed caches; statistics are enabled so Actuator publishes hit/miss counters
+    @Bean
+    public RedisCacheManager cacheManager(RedisConnectionFactory connectionFactory,
+                                          @Value("${app.cache.entries.ttl:PT30M}") Duration entryTtl) {
+        ObjectMapper mapper = JsonMapper.builder()
+                .addModule(new JavaTimeModule())
+                .build();
+
+        RedisCacheConfiguration entryCacheConfig = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(entryTtl)
+                .disableCachingNullValues()
+                .serializeValuesWith(RedisSerializationContext.SerializationPair.fromSerializer(
+                        new Jackson2JsonRedisSerializer<>(mapper, EntryResponse.class)));
+
+        return RedisCacheManager.builder(connectionFactory)
+                .withCacheConfiguration(ENTRY_CACHE, entryCacheConfig)
+                .enableStatistics()
+                .build();
+    }
+}
@@ -1,5 +1,6 @@
 package com.journal.journalbackend.config;
 
+import com.journal.journalbackend.messaging.ReminderDigestMessage;
 import jakarta.mail.MessagingException;
 import jakarta.mail.internet.MimeMessage;
 import org.springframework.cglib.core.Local;
@@ -85,8 +86,12 @@ public class EmailConfig {
         }
     }
 
-    // EmailService.java
-    public void sendMonthlySummary(String toEmail, long entryCount, LocalDate monthYear) {
+    // Send already rendered messages over a single SMTP connection
+    public void sendAll(MimeMessage... messages) {
+        emailSender.send(messages);
+    }
+
+    public MimeMessage buildMonthlySummary(String toEmail, long entryCount, LocalDate monthYear) {
         if (toEmail == null || toEmail.isBlank()) {
             throw new IllegalArgumentException("Recipient email address is missing.");
         }
@@ -104,14 +109,13 @@ public class EmailConfig {
             helper.setTo(toEmail); // <-- This was missing
             helper.setSubject("Your Monthly Journal Reflection");
             helper.setText(content, true); // true = HTML
-
-            emailSender.send(message);
+            return message;
         } catch (MessagingException e) {
-            throw new RuntimeException("Failed to send email", e);
+            throw new RuntimeException("Failed to build email", e);
         }
     }
 
-    public void sendMemoryLaneEmail(String toEmail, LocalDate year, long entryCount) {
+    public MimeMessage buildMemoryLaneEmail(String toEmail, LocalDate year, long entryCount) {
         if (toEmail == null || toEmail.isBlank()) {
             throw new IllegalArgumentException("Recipient email address is missing.");
         }
@@ -129,14 +133,13 @@ public class EmailConfig {
             helper.setTo(toEmail);
             helper.setSubject("Take a Stroll Down Memory Lane – Your " + year + " Journal Recap");
             helper.setText(content, true); // HTML content
-
-            emailSender.send(message);
+            return message;
         } catch (MessagingException e) {
-            throw new RuntimeException("Failed to send Memory Lane email", e);
+            throw new RuntimeException("Failed to build Memory Lane email", e);
         }
     }
 
-    public void sendAnniversaryEmail(String toEmail, long entryCount, LocalDate monthYear) {
+    public MimeMessage buildAnniversaryEmail(String toEmail, long entryCount, LocalDate monthYear) {
         if (toEmail == null || toEmail.isBlank()) {
             throw new IllegalArgumentException("Recipient email address is missing.");
         }
@@ -156,14 +159,44 @@ public class EmailConfig {
             helper.setTo(toEmail);
             helper.setSubject("🎉 Happy Journal Anniversary! Here's What You Wrote");
             helper.setText(content, true); // true means HTML
-
-            emailSender.send(message);
+            return message;
         } catch (MessagingException e) {
-            throw new RuntimeException("Failed to send Anniversary email", e);
+            throw new RuntimeException("Failed to build Anniversary email", e);
         }
     }
 
 
+    // One email covering every reminder a user is due in a dispatch run
+    public MimeMessage buildReminderDigest(ReminderDigestMessage digest) {
+        if (digest.getEmail() == null || digest.getEmail().isBlank()) {
+            throw new IllegalArgumentException("Recipient email address is missing.");
+        }
+
+        DateTimeFormatter monthFormat = DateTimeFormatter.ofPattern("MMMM yyyy");
+        Context context = new Context();
+        context.setVariable("anniversaries", digest.getAnniversaries());
+        context.setVariable("memoryLane", digest.getMemoryLane());
+        context.setVariable("monthly", digest.getMonthly());
+        context.setVariable("monthFormat", monthFormat);
+        if (digest.getMonthly() != null) {
+            context.setVariable("monthlyLink", generateViewLink(digest.getMonthly().getMonthYear()));
+        }
+        context.setVariable("memoryLaneLink", "http://localhost:8081/memory-lane");
+
+        String content = templateEngine.process("email/daily-digest", context);
+
+        try {
+            MimeMessage message = emailSender.createMimeMessage();
+            MimeMessageHelper helper = new MimeMessageHelper(message, true);
+            helper.setTo(digest.getEmail());
+            helper.setSubject("Your Journal Reminders for Today");
+            helper.setText(content, true); // HTML content
+            return message;
+        } catch (MessagingException e) {
+            throw new RuntimeException("Failed to build reminder digest email", e);
+        }
+    }
+
     private String generateViewLink(LocalDate monthYear) {
         return "http://localhost:8081/view-summary?month=" + monthYear.toString();
     }
@@ -0,0 +1,89 @@
+package com.journal.journalbackend.config;
+
+import com.journal.journalbackend.scheduler.EntryCountBackfillJob;
+import com.journal.journalbackend.scheduler.EntryPurgeJob;
+import com.journal.journalbackend.scheduler.ReminderDispatchJob;
+import com.journal.journalbackend.scheduler.ReminderShardJob;
+import org.quartz.CronScheduleBuilder;
+import org.quartz.JobBuilder;
+import org.quartz.JobDetail;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.TimeZone;
+
+// Jobs and triggers for the clustered Quartz scheduler (JDBC job store, see spring.quartz.* properties)
+@Configuration
+public class QuartzConfig {
+
+    @Bean
+    public JobDetail reminderDispatchJobDetail() {
+        return JobBuilder.newJob(ReminderDispatchJob.class)
+                .withIdentity("reminder-dispatch")
+                .storeDurably()
+                .build();
+    }
+
+    @Bean
+    public Trigger reminderDispatchTrigger(@Value("${app.reminders.cron:0 0 * * * ?}") String cron) {
+        return TriggerBuilder.newTrigger()
+                .forJob(reminderDispatchJobDetail())
+                .withIdentity("reminder-dispatch-trigger")
+                .withSchedule(CronScheduleBuilder.cronSchedule(cron)
+                        .inTimeZone(TimeZone.getTimeZone("UTC"))
+                        .withMisfireHandlingInstructionFireAndProceed())
+                .build();
+    }
+
+    // Fired by one-off triggers created by the dispatcher; recovered on another node if its node dies
+    @Bean
+    public JobDetail reminderShardJobDetail() {
+        return JobBuilder.newJob(ReminderShardJob.class)
+                .withIdentity(ReminderShardJob.JOB_KEY)
+                .storeDurably()
+                .requestRecovery()
+                .build();
+    }
+
+    @Bean
+    public JobDetail entryPurgeJobDetail() {
+        return JobBuilder.newJob(EntryPurgeJob.class)
+                .withIdentity("entry-purge")
+                .storeDurably()
+                .build();
+    }
+
+    @Bean
+    public Trigger entryPurgeTrigger(@Value("${app.purge.cron:0 0 1 * * ?}") String cron) {
+        return TriggerBuilder.newTrigger()
+                .forJob(entryPurgeJobDetail())
+                .withIdentity("entry-purge-trigger")
+                .withSchedule(CronScheduleBuilder.cronSchedule(cron)
+                        .withMisfireHandlingInstructionFireAndProceed())
+                .build();
+    }
+
+    @Bean
+    public JobDetail entryCountBackfillJobDetail() {
+        return JobBuilder.newJob(EntryCountBackfillJob.class)
+                .withIdentity("entry-count-backfill")
+                .storeDurably()
+                .requestRecovery()
+                .build();
+    }
+
+    // Re-registered on every startup; the job checks its checkpoint and returns once the backfill is done
+    @Bean
+    public Trigger entryCountBackfillTrigger() {
+        return TriggerBuilder.newTrigger()
+                .forJob(entryCountBackfillJobDetail())
+                .withIdentity("entry-count-backfill-trigger")
+                .startNow()
+                .withSchedule(SimpleScheduleBuilder.simpleSchedule().withMisfireHandlingInstructionFireNow())
+                .build();
+    }
+}
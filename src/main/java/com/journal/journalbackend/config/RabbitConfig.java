@@ -4,19 +4,36 @@ package com.journal.journalbackend.config;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.SerializationFeature;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import org.springframework.amqp.core.AcknowledgeMode;
+import org.springframework.amqp.core.BindingBuilder;
+import org.springframework.amqp.core.Declarable;
+import org.springframework.amqp.core.Declarables;
+import org.springframework.amqp.core.FanoutExchange;
 import org.springframework.amqp.core.Queue;
+import org.springframework.amqp.core.QueueBuilder;
+import org.springframework.amqp.rabbit.config.SimpleRabbitListenerContainerFactory;
 import org.springframework.amqp.rabbit.connection.ConnectionFactory;
 import org.springframework.amqp.rabbit.core.RabbitTemplate;
 import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
 import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 public class RabbitConfig {
     public static final String QUEUE_MONTHLY_REMINDERS = "monthly-reminders-queue";
     public static final String QUEUE_MEMORY_LANE_REMINDERS = "memory-lane-reminders";
     public static final String QUEUE_ANNIVERSARY_REMINDERS = "anniversary-reminders";
+    public static final String QUEUE_REMINDER_DIGESTS = "reminder-digests";
+    public static final String QUEUE_ACCOUNT_EMAILS = "account-emails";
+    public static final String QUEUE_REMINDER_PARKING_LOT = "reminders.parking-lot";
+    public static final String REMINDER_BATCH_CONTAINER_FACTORY = "reminderBatchContainerFactory";
+    public static final String ACCOUNT_EMAIL_CONTAINER_FACTORY = "accountEmailContainerFactory";
 
     // Declare the Monthly Reminders Queue
     @Bean
@@ -33,6 +50,49 @@ public class RabbitConfig {
         return new Queue(QUEUE_MEMORY_LANE_REMINDERS, true); // durable = true
     }
 
+    // One message per user per dispatch run, carrying all of that user's reminders
+    @Bean
+    public Queue reminderDigestsQueue() {
+        return new Queue(QUEUE_REMINDER_DIGESTS, true);
+    }
+
+    // Verification and password reset emails, consumed apart from reminders so a reminder backlog never delays them
+    @Bean
+    public Queue accountEmailsQueue() {
+        return new Queue(QUEUE_ACCOUNT_EMAILS, true);
+    }
+
+    // Failed reminders that used up their retry tiers; kept for inspection and manual replay
+    @Bean
+    public Queue reminderParkingLotQueue() {
+        return new Queue(QUEUE_REMINDER_PARKING_LOT, true);
+    }
+
+    // One fanout exchange and queue per retry delay. Messages expire after the delay and are
+    // dead-lettered through the default exchange with their routing key, i.e. back to their original queue.
+    @Bean
+    public Declarables reminderRetryTiers(
+            @Value("${app.messaging.retry.delays:PT10S,PT1M,PT5M,PT30M}") List<Duration> delays) {
+        List<Declarable> declarables = new ArrayList<>();
+        for (Duration delay : delays) {
+            String name = retryTierName(delay);
+            FanoutExchange exchange = new FanoutExchange(name, true, false);
+            Queue queue = QueueBuilder.durable(name)
+                    .ttl((int) delay.toMillis())
+                    .deadLetterExchange("")
+                    .build();
+            declarables.add(exchange);
+            declarables.add(queue);
+            declarables.add(BindingBuilder.bind(queue).to(exchange));
+        }
+        return new Declarables(declarables);
+    }
+
+    // Named after the delay so changing the tiers declares new queues instead of clashing with old arguments
+    public static String retryTierName(Duration delay) {
+        return "reminders.retry." + delay.toSeconds() + "s";
+    }
+
 
 
 
@@ -52,4 +112,42 @@ public class RabbitConfig {
         template.setMessageConverter(jsonMessageConverter());
         return template;
     }
+
+    // Reminder consumers receive up to batch-size messages per call and ack each one themselves
+    @Bean(REMINDER_BATCH_CONTAINER_FACTORY)
+    public SimpleRabbitListenerContainerFactory reminderBatchContainerFactory(
+            ConnectionFactory connectionFactory,
+            @Value("${app.mail.batch.size:50}") int batchSize,
+            @Value("${app.mail.batch.receive-timeout:PT1S}") Duration receiveTimeout,
+            @Value("${app.mail.batch.prefetch:100}") int prefetch,
+            @Value("${app.mail.batch.concurrency:2}") int concurrency,
+            @Value("${app.mail.batch.max-concurrency:4}") int maxConcurrency) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setMessageConverter(jsonMessageConverter());
+        factory.setBatchListener(true);
+        factory.setConsumerBatchEnabled(true);
+        factory.setBatchSize(Math.max(batchSize, 1));
+        factory.setReceiveTimeout(receiveTimeout.toMillis()); // A partial batch is delivered after this wait
+        factory.setPrefetchCount(Math.max(prefetch, batchSize)); // A batch can only fill from prefetched messages
+        factory.setConcurrentConsumers(Math.max(concurrency, 1));
+        factory.setMaxConcurrentConsumers(Math.max(maxConcurrency, concurrency));
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        return factory;
+    }
+
+    // Account emails are few and latency sensitive: one at a time per consumer, small prefetch
+    @Bean(ACCOUNT_EMAIL_CONTAINER_FACTORY)
+    public SimpleRabbitListenerContainerFactory accountEmailContainerFactory(
+            ConnectionFactory connectionFactory,
+            @Value("${app.mail.account.concurrency:2}") int concurrency,
+            @Value("${app.mail.account.prefetch:5}") int prefetch) {
+        SimpleRabbitListenerContainerFactory factory = new SimpleRabbitListenerContainerFactory();
+        factory.setConnectionFactory(connectionFactory);
+        factory.setMessageConverter(jsonMessageConverter());
+        factory.setConcurrentConsumers(Math.max(concurrency, 1));
+        factory.setPrefetchCount(Math.max(prefetch, 1));
+        factory.setAcknowledgeMode(AcknowledgeMode.MANUAL);
+        return factory;
+    }
 }
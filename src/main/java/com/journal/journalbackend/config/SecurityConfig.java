@@ -1,7 +1,13 @@
 package com.journal.journalbackend.config;
 
+import com.journal.journalbackend.security.BcryptCostCalibrator;
+import com.journal.journalbackend.security.RateLimitFilter;
+import com.journal.journalbackend.security.RateLimitProperties;
 import com.journal.journalbackend.service.CustomUserDetailsService;
 import com.journal.journalbackend.security.JwtAuthenticationFilter;
+import jakarta.servlet.DispatcherType;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Lazy;
@@ -19,15 +25,21 @@ import org.springframework.security.web.authentication.UsernamePasswordAuthentic
 import org.springframework.security.web.firewall.HttpFirewall;
 import org.springframework.security.web.firewall.StrictHttpFirewall;
 
+import java.time.Duration;
+
 @Configuration
 @EnableWebSecurity
+@EnableConfigurationProperties(RateLimitProperties.class)
 public class SecurityConfig {
     private final JwtAuthenticationFilter jwtAuthFilter;
+    private final RateLimitFilter rateLimitFilter;
     private final CustomUserDetailsService customUserDetailsService;
 
     public SecurityConfig(@Lazy JwtAuthenticationFilter jwtAuthFilter,
+                          @Lazy RateLimitFilter rateLimitFilter,
                           CustomUserDetailsService customUserDetailsService) {
         this.jwtAuthFilter = jwtAuthFilter;
+        this.rateLimitFilter = rateLimitFilter;
         this.customUserDetailsService = customUserDetailsService;
     }
 
@@ -51,15 +63,21 @@ public class SecurityConfig {
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
         http
                 .csrf(csrf -> csrf.disable())
+                .addFilterBefore(rateLimitFilter, UsernamePasswordAuthenticationFilter.class)
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
                 .sessionManagement(session -> session
                         .sessionCreationPolicy(SessionCreationPolicy.STATELESS))
                 .authorizeHttpRequests(auth -> auth
+                        // Async dispatches (streamed responses) were already authorized on the original request
+                        .dispatcherTypeMatchers(DispatcherType.ASYNC).permitAll()
                         .requestMatchers("/swagger-ui/**", "/v3/api-docs/**", "/swagger-resources/**").permitAll()
                         .requestMatchers("/api/auth/register").permitAll()
                         .requestMatchers("/api/auth/login").permitAll()
                         .requestMatchers("/api/auth/forgot-password", "/api/auth/reset-password").permitAll()
                         .requestMatchers("/api/auth/change-password").authenticated()
+                        // Actuator endpoints can flush caches and cancel jobs, so only the admin gets them
+                        .requestMatchers("/actuator/health").permitAll()
+                        .requestMatchers("/actuator/**").hasRole("ADMIN")
                         .anyRequest().authenticated()
                 )
                 // Remove form login configuration as we're using JWT now
@@ -79,8 +97,14 @@ public class SecurityConfig {
         return firewall;
     }
 
+    // A fixed strength wins; otherwise the cost is calibrated against the target latency at startup
     @Bean
-    public PasswordEncoder passwordEncoder() {
-        return new BCryptPasswordEncoder();
+    public PasswordEncoder passwordEncoder(
+            @Value("${app.auth.bcrypt.strength:0}") int strength,
+            @Value("${app.auth.bcrypt.target-latency:PT0.25S}") Duration targetLatency,
+            @Value("${app.auth.bcrypt.min-strength:10}") int minStrength,
+            @Value("${app.auth.bcrypt.max-strength:14}") int maxStrength) {
+        int cost = strength > 0 ? strength : BcryptCostCalibrator.calibrate(targetLatency, minStrength, maxStrength);
+        return new BCryptPasswordEncoder(cost);
     }
 }
\ No newline at end of file
@@ -4,8 +4,10 @@ import com.journal.journalbackend.dto.request.*;
 import com.journal.journalbackend.dto.response.LoginResponse;
 import com.journal.journalbackend.model.User;
 import com.journal.journalbackend.repository.UserRepository;
+import com.journal.journalbackend.service.LoginService;
 import com.journal.journalbackend.service.UserService;
 import com.journal.journalbackend.security.JwtTokenProvider;
+import com.journal.journalbackend.security.RateLimiter;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
@@ -13,34 +15,36 @@ import org.springframework.security.authentication.AuthenticationManager;
 import org.springframework.security.authentication.BadCredentialsException;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.Authentication;
-import org.springframework.security.core.GrantedAuthority;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ResponseStatusException;
 
-import java.util.Collections;
-import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 @RestController
 @RequestMapping("/api/auth")
 public class AuthController {
     private final UserService userService;
     private final AuthenticationManager authenticationManager;
-    private final PasswordEncoder passwordEncoder;
+    private final LoginService loginService;
     private final UserRepository userRepository;
     private final JwtTokenProvider jwtTokenProvider;
+    private final RateLimiter rateLimiter;
 
-    public AuthController(UserService userService, AuthenticationManager authenticationManager, PasswordEncoder passwordEncoder, UserRepository userRepository, JwtTokenProvider jwtTokenProvider) {
+    public AuthController(UserService userService, AuthenticationManager authenticationManager, LoginService loginService, UserRepository userRepository, JwtTokenProvider jwtTokenProvider, RateLimiter rateLimiter) {
         this.userService = userService;
         this.authenticationManager = authenticationManager;
-        this.passwordEncoder = passwordEncoder;
+        this.loginService = loginService;
         this.userRepository = userRepository;
         this.jwtTokenProvider = jwtTokenProvider;
+        this.rateLimiter = rateLimiter;
     }
 
     @PostMapping("/register")
     public ResponseEntity<?> registerUser(@Valid @RequestBody UserRegistrationRequest userRegistrationRequest) {
+        // Per-account limits sit outside the try so a 429 is not turned into a 400
+        rateLimiter.checkAccount("register", userRegistrationRequest.getEmail());
         try {
             userService.registerNewUser(userRegistrationRequest);
             return ResponseEntity.status(HttpStatus.CREATED)
@@ -64,6 +68,7 @@ public class AuthController {
 
     @PostMapping("/resend-verification")
     public ResponseEntity<?> resendVerificationToken(@RequestParam("email") String email) {
+        rateLimiter.checkAccount("resend-verification", email);
         try {
             userService.resendVerificationToken(email);
             return ResponseEntity.ok("Verification token resent successfully");
@@ -74,37 +79,12 @@ public class AuthController {
     }
 
     @PostMapping("/login")
-    public ResponseEntity login(@Valid @RequestBody LoginRequest loginRequest) {
+    public CompletableFuture<ResponseEntity<?>> login(@Valid @RequestBody LoginRequest loginRequest) {
+        rateLimiter.checkAccount("login", loginRequest.getUsername());
         try {
-            // Special case for admin user
+            // Special case for admin user; bcrypt runs on the login pool like any other password check
             if ("admin".equals(loginRequest.getUsername())) {
-                try {
-                    Authentication authentication = authenticationManager.authenticate(
-                            new UsernamePasswordAuthenticationToken(
-                                    loginRequest.getUsername(),
-                                    loginRequest.getPassword()
-                            )
-                    );
-
-                    // Generate JWT token
-                    String jwtToken = jwtTokenProvider.generateToken(authentication);
-
-                    // Admin login successful
-                    LoginResponse response = new LoginResponse(
-                            0L, // Admin ID
-                            "admin",
-                            "admin@test.com",
-                            "Admin",
-                            "User",
-                            "Admin login successful",
-                            jwtToken
-                    );
-
-                    return ResponseEntity.ok(response);
-                } catch (BadCredentialsException e) {
-                    return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                            .body("Invalid admin credentials");
-                }
+                return loginService.submit(() -> adminLogin(loginRequest));
             }
 
             // Regular user login logic
@@ -112,60 +92,94 @@ public class AuthController {
 
             if (userOptional.isEmpty()) {
                 System.out.println("User not found in database: " + loginRequest.getUsername());
-                return ResponseEntity.status(HttpStatus.NOT_FOUND)
-                        .body("User not found: " + loginRequest.getUsername());
+                return CompletableFuture.completedFuture(ResponseEntity.status(HttpStatus.NOT_FOUND)
+                        .body("User not found: " + loginRequest.getUsername()));
             }
 
             User user = userOptional.get();
 
-            // Verify password against database hash
-            boolean passwordMatches = passwordEncoder.matches(loginRequest.getPassword(), user.getPasswordHash());
-            System.out.println("Password match result: " + passwordMatches);
+            // Verify password against database hash, off the request thread
+            return loginService.checkPassword(user, loginRequest.getPassword())
+                    .<ResponseEntity<?>>thenApply(passwordMatches -> loginResponse(user, passwordMatches))
+                    .exceptionally(e -> loginFailure(e));
 
-            if (!passwordMatches) {
-                return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
-                        .body("Invalid credentials");
-            }
-
-            // Check if user is verified
-            if (!user.isVerified()) {
-                return ResponseEntity.status(HttpStatus.FORBIDDEN)
-                        .body("Account is not verified. Please check your email for verification instructions.");
-            }
-
-            // Create authentication token
-            List<GrantedAuthority> authorities = Collections.singletonList(
-                    new SimpleGrantedAuthority("ROLE_USER")
-            );
+        } catch (ResponseStatusException e) {
+            // Login pool saturated
+            throw e;
+        } catch (Exception e) {
+            return CompletableFuture.completedFuture(loginFailure(e));
+        }
+    }
 
-            Authentication authentication = new UsernamePasswordAuthenticationToken(
-                    user.getUsername(),
-                    null, // Don't include password in token
-                    authorities
+    // Helper method: admin login through the authentication manager
+    private ResponseEntity<?> adminLogin(LoginRequest loginRequest) {
+        try {
+            Authentication authentication = authenticationManager.authenticate(
+                    new UsernamePasswordAuthenticationToken(
+                            loginRequest.getUsername(),
+                            loginRequest.getPassword()
+                    )
             );
 
             // Generate JWT token
             String jwtToken = jwtTokenProvider.generateToken(authentication);
 
-            // Return user information with JWT token
+            // Admin login successful
             LoginResponse response = new LoginResponse(
-                    user.getId(),
-                    user.getUsername(),
-                    user.getEmail(),
-                    user.getFirstName(),
-                    user.getLastName(),
-                    "Login Successful",
+                    0L, // Admin ID
+                    "admin",
+                    "admin@test.com",
+                    "Admin",
+                    "User",
+                    "Admin login successful",
                     jwtToken
             );
 
             return ResponseEntity.ok(response);
+        } catch (BadCredentialsException e) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("Invalid admin credentials");
+        }
+    }
 
-        } catch (Exception e) {
-            System.out.println("Login exception: " + e.getMessage());
-            e.printStackTrace();
-            return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
-                    .body("An error occurred during authentication: " + e.getMessage());
+    // Helper method: response for a regular user once the password check is done
+    private ResponseEntity<?> loginResponse(User user, boolean passwordMatches) {
+        System.out.println("Password match result: " + passwordMatches);
+
+        if (!passwordMatches) {
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED)
+                    .body("Invalid credentials");
         }
+
+        // Check if user is verified
+        if (!user.isVerified()) {
+            return ResponseEntity.status(HttpStatus.FORBIDDEN)
+                    .body("Account is not verified. Please check your email for verification instructions.");
+        }
+
+        // Generate JWT token, with the user id as a claim
+        String jwtToken = jwtTokenProvider.generateToken(user);
+
+        // Return user information with JWT token
+        LoginResponse response = new LoginResponse(
+                user.getId(),
+                user.getUsername(),
+                user.getEmail(),
+                user.getFirstName(),
+                user.getLastName(),
+                "Login Successful",
+                jwtToken
+        );
+
+        return ResponseEntity.ok(response);
+    }
+
+    private ResponseEntity<?> loginFailure(Throwable e) {
+        Throwable cause = e instanceof CompletionException && e.getCause() != null ? e.getCause() : e;
+        System.out.println("Login exception: " + cause.getMessage());
+        cause.printStackTrace();
+        return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
+                .body("An error occurred during authentication: " + cause.getMessage());
     }
 
     @PostMapping("/change-password")
@@ -196,6 +210,7 @@ public class AuthController {
 
     @PostMapping("/forgot-password")
     public ResponseEntity<?> initiatePasswordReset(@Valid @RequestBody ForgotPasswordRequest forgotPasswordRequest) {
+        rateLimiter.checkAccount("forgot-password", forgotPasswordRequest.getEmail());
         try {
             userService.initiatePasswordReset(forgotPasswordRequest);
             return ResponseEntity.ok("If this email is registered, a password reset link has been sent");
@@ -1,20 +1,26 @@
 package com.journal.journalbackend.controller;
 
 import com.journal.journalbackend.dto.request.EntryRequest;
+import com.journal.journalbackend.dto.response.EntryPageResponse;
 import com.journal.journalbackend.dto.response.EntryResponse;
 import com.journal.journalbackend.dto.response.EntryVersionResponse;
 import com.journal.journalbackend.dto.response.TagResponse;
+import com.journal.journalbackend.security.AuthenticatedUser;
 import com.journal.journalbackend.service.EntryService;
+import com.journal.journalbackend.service.ExportPermits;
 import com.journal.journalbackend.service.TagService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
-import java.security.Principal;
 import java.util.List;
 
 @RestController
@@ -22,12 +28,16 @@ import java.util.List;
 @Tag(name = "Entry Controller", description = "Endpoints for managing journal entries")
 @SecurityRequirement(name = "bearerAuth")
 public class EntryController {
+    private static final String NDJSON = "application/x-ndjson";
+
     private final EntryService entryService;
     private final TagService tagService;
+    private final ExportPermits exportPermits;
 
-    public EntryController(EntryService entryService, TagService tagService) {
+    public EntryController(EntryService entryService, TagService tagService, ExportPermits exportPermits) {
         this.entryService = entryService;
         this.tagService = tagService;
+        this.exportPermits = exportPermits;
     }
 
     @PostMapping
@@ -35,20 +45,48 @@ public class EntryController {
     public ResponseEntity<EntryResponse> createEntry(
             @PathVariable Long journalId,
             @Valid @RequestBody EntryRequest entryRequest,
-            Principal principal) {
+            @AuthenticationPrincipal AuthenticatedUser caller) {
 
-        EntryResponse response = entryService.createEntry(journalId, entryRequest, principal.getName());
+        EntryResponse response = entryService.createEntry(journalId, entryRequest, caller.getUserId());
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
     @GetMapping
-    @Operation(summary = "Get all entries for a journal")
-    public ResponseEntity<List<EntryResponse>> getEntriesByJournalId(
+    @Operation(summary = "Get a page of entries for a journal, newest first")
+    public ResponseEntity<EntryPageResponse> getEntriesByJournalId(
             @PathVariable Long journalId,
-            Principal principal) {
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @AuthenticationPrincipal AuthenticatedUser caller) {
+
+        EntryPageResponse page = entryService.getEntriesPage(journalId, cursor, limit, caller.getUserId());
+        return ResponseEntity.ok(page);
+    }
 
-        List<EntryResponse> entries = entryService.getEntriesByJournalId(journalId, principal.getName());
-        return ResponseEntity.ok(entries);
+    @GetMapping(value = "/export", produces = NDJSON)
+    @Operation(summary = "Export every entry of a journal as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> exportEntries(
+            @PathVariable Long journalId,
+            @RequestParam(defaultValue = "false") boolean includeVersions,
+            @AuthenticationPrincipal AuthenticatedUser caller) {
+
+        // Check access before streaming starts so failures still get a proper status code
+        entryService.verifyJournalAccess(journalId, caller.getUserId());
+
+        // The slot is held until the download ends, since the export keeps a connection open that long
+        exportPermits.acquire();
+        Long userId = caller.getUserId();
+        StreamingResponseBody body = out -> {
+            try {
+                entryService.exportJournal(journalId, includeVersions, userId, out);
+            } finally {
+                exportPermits.release();
+            }
+        };
+        return ResponseEntity.ok()
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"journal-" + journalId + ".ndjson\"")
+                .contentType(MediaType.parseMediaType(NDJSON))
+                .body(body);
     }
 
     @GetMapping("/{entryId}")
@@ -56,9 +94,9 @@ public class EntryController {
     public ResponseEntity<EntryResponse> getEntryById(
             @PathVariable Long journalId,
             @PathVariable Long entryId,
-            Principal principal) {
+            @AuthenticationPrincipal AuthenticatedUser caller) {
 
-        EntryResponse entry = entryService.getEntryById(journalId, entryId, principal.getName());
+        EntryResponse entry = entryService.getEntryById(journalId, entryId, caller.getUserId());
         return ResponseEntity.ok(entry);
     }
 
@@ -68,9 +106,9 @@ public class EntryController {
             @PathVariable Long journalId,
             @PathVariable Long entryId,
             @Valid @RequestBody EntryRequest entryRequest,
-            Principal principal) {
+            @AuthenticationPrincipal AuthenticatedUser caller) {
 
-        EntryResponse response = entryService.updateEntry(journalId, entryId, entryRequest, principal.getName());
+        EntryResponse response = entryService.updateEntry(journalId, entryId, entryRequest, caller.getUserId());
         return ResponseEntity.ok(response);
     }
 
@@ -90,12 +128,12 @@ public class EntryController {
     public ResponseEntity<List<TagResponse>> getTagsForEntry(
             @PathVariable Long journalId,
             @PathVariable Long entryId,
-            Principal principal) {
+            @AuthenticationPrincipal AuthenticatedUser caller) {
 
         // Verify access to journal first
-        entryService.getEntryById(journalId, entryId, principal.getName());
+        entryService.verifyEntryAccess(journalId, entryId, caller.getUserId());
 
-        List<TagResponse> tags = tagService.getTagsForEntry(entryId, principal.getName());
+        List<TagResponse> tags = tagService.getTagsForEntry(entryId, caller.getUserId());
         return ResponseEntity.ok(tags);
     }
 
@@ -105,12 +143,12 @@ public class EntryController {
             @PathVariable Long journalId,
             @PathVariable Long entryId,
             @RequestBody List<Long> tagIds,
-            Principal principal) {
+            @AuthenticationPrincipal AuthenticatedUser caller) {
 
         // Verify access to journal first
-        entryService.getEntryById(journalId, entryId, principal.getName());
+        entryService.verifyEntryAccess(journalId, entryId, caller.getUserId());
 
-        tagService.addTagsToEntry(entryId, tagIds, principal.getName());
+        tagService.addTagsToEntry(entryId, tagIds, caller.getUserId());
         return ResponseEntity.noContent().build();
     }
 
@@ -120,12 +158,12 @@ public class EntryController {
             @PathVariable Long journalId,
             @PathVariable Long entryId,
             @PathVariable Long tagId,
-            Principal principal) {
+            @AuthenticationPrincipal AuthenticatedUser caller) {
 
         // Verify access to journal first
-        entryService.getEntryById(journalId, entryId, principal.getName());
+        entryService.verifyEntryAccess(journalId, entryId, caller.getUserId());
 
-        tagService.removeTagFromEntry(entryId, tagId, principal.getName());
+        tagService.removeTagFromEntry(entryId, tagId, caller.getUserId());
         return ResponseEntity.noContent().build();
     }
 
@@ -135,9 +173,9 @@ public class EntryController {
     public ResponseEntity<Void> softDeleteEntry(
             @PathVariable Long journalId,
             @PathVariable Long entryId,
-            Principal principal) {
+            @AuthenticationPrincipal AuthenticatedUser caller) {
 
-        entryService.softDeleteEntry(journalId, entryId, principal.getName());
+        entryService.softDeleteEntry(journalId, entryId, caller.getUserId());
         return ResponseEntity.noContent().build();
     }
 
@@ -147,9 +185,9 @@ public class EntryController {
     public ResponseEntity<Void> restoreEntry(
             @PathVariable Long journalId,
             @PathVariable Long entryId,
-            Principal principal) {
+            @AuthenticationPrincipal AuthenticatedUser caller) {
 
-        entryService.restoreEntry(journalId, entryId, principal.getName());
+        entryService.restoreEntry(journalId, entryId, caller.getUserId());
         return ResponseEntity.ok().build();
     }
 
@@ -159,9 +197,9 @@ public class EntryController {
     public ResponseEntity<List<EntryVersionResponse>> getEntryVersions(
             @PathVariable Long journalId,
             @PathVariable Long entryId,
-            Principal principal) {
+            @AuthenticationPrincipal AuthenticatedUser caller) {
 
-        List<EntryVersionResponse> versions = entryService.getEntryVersions(journalId, entryId, principal.getName());
+        List<EntryVersionResponse> versions = entryService.getEntryVersions(journalId, entryId, caller.getUserId());
         return ResponseEntity.ok(versions);
     }
 
@@ -172,9 +210,9 @@ public class EntryController {
             @PathVariable Long journalId,
             @PathVariable Long entryId,
             @PathVariable Long versionId,
-            Principal principal) {
+            @AuthenticationPrincipal AuthenticatedUser caller) {
 
-        EntryResponse response = entryService.restoreVersion(journalId, entryId, versionId, principal.getName());
+        EntryResponse response = entryService.restoreVersion(journalId, entryId, versionId, caller.getUserId());
         return ResponseEntity.ok(response);
     }
 
@@ -2,10 +2,8 @@ package com.journal.journalbackend.controller;
 
 import com.journal.journalbackend.dto.request.JournalRequest;
 import com.journal.journalbackend.dto.request.JournalUpdateRequest;
-import com.journal.journalbackend.dto.response.EntryResponse;
 import com.journal.journalbackend.dto.response.JournalResponse;
-import com.journal.journalbackend.model.User;
-import com.journal.journalbackend.repository.UserRepository;
+import com.journal.journalbackend.security.AuthenticatedUser;
 import com.journal.journalbackend.service.JournalService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -13,10 +11,9 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
-import org.springframework.web.server.ResponseStatusException;
 
-import java.security.Principal;
 import java.util.List;
 
 @RestController
@@ -25,29 +22,25 @@ import java.util.List;
 @SecurityRequirement(name = "bearerAuth")
 public class JournalController {
     private final JournalService journalService;
-    private final UserRepository userRepository;
 
-    public JournalController(JournalService journalService, UserRepository userRepository) {
+    public JournalController(JournalService journalService) {
         this.journalService = journalService;
-        this.userRepository = userRepository;
     }
 
     @PostMapping
     @Operation(summary = "Create a new journal")
     public ResponseEntity<JournalResponse> createJournal(
             @Valid @RequestBody JournalRequest journalRequest,
-            Principal principal
+            @AuthenticationPrincipal AuthenticatedUser caller
     ) {
-        String username = principal.getName();
-        JournalResponse journalResponse = journalService.createJournal(journalRequest, username);
+        JournalResponse journalResponse = journalService.createJournal(journalRequest, caller.getUserId());
         return ResponseEntity.status(HttpStatus.CREATED).body(journalResponse);
     }
 
     @GetMapping
     @Operation(summary = "Get all journals for the logged-in user")
-    public ResponseEntity<List<JournalResponse>> getMyJournals(Principal principal) {
-        String username = principal.getName();
-        List<JournalResponse> journals = journalService.getJournalsByUsername(username);
+    public ResponseEntity<List<JournalResponse>> getMyJournals(@AuthenticationPrincipal AuthenticatedUser caller) {
+        List<JournalResponse> journals = journalService.getJournalsByUserId(caller.getUserId());
         return ResponseEntity.ok(journals);
     }
 
@@ -55,10 +48,9 @@ public class JournalController {
     @Operation(summary = "Get a specific journal by ID")
     public ResponseEntity<JournalResponse> getJournalById(
             @PathVariable Long id,
-            Principal principal) {
+            @AuthenticationPrincipal AuthenticatedUser caller) {
 
-        String username = principal.getName();
-        JournalResponse journal = journalService.getJournalByIdAndUsername(id, username);
+        JournalResponse journal = journalService.getJournalByIdAndUserId(id, caller.getUserId());
         return ResponseEntity.ok(journal);
     }
 
@@ -66,8 +58,8 @@ public class JournalController {
     public ResponseEntity<JournalResponse> updateJournal(
             @PathVariable Long journalId,
             @Valid @RequestBody JournalUpdateRequest updateRequest,
-            Principal principal) {
-        JournalResponse response = journalService.updateJournal(journalId, principal.getName(), updateRequest);
+            @AuthenticationPrincipal AuthenticatedUser caller) {
+        JournalResponse response = journalService.updateJournal(journalId, caller.getUserId(), updateRequest);
         return ResponseEntity.ok(response);
             }
 
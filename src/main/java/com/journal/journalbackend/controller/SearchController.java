@@ -0,0 +1,36 @@
+package com.journal.journalbackend.controller;
+
+import com.journal.journalbackend.dto.response.EntrySearchPageResponse;
+import com.journal.journalbackend.security.AuthenticatedUser;
+import com.journal.journalbackend.service.EntrySearchService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.security.SecurityRequirement;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
+import org.springframework.web.bind.annotation.*;
+
+
+@RestController
+@RequestMapping("/api/search")
+@Tag(name = "Search Controller", description = "Full-text search across the current user's entries")
+@SecurityRequirement(name = "bearerAuth")
+public class SearchController {
+    private final EntrySearchService entrySearchService;
+
+    public SearchController(EntrySearchService entrySearchService) {
+        this.entrySearchService = entrySearchService;
+    }
+
+    @GetMapping("/entries")
+    @Operation(summary = "Search entry titles and bodies, best matches first")
+    public ResponseEntity<EntrySearchPageResponse> searchEntries(
+            @RequestParam("q") String query,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "20") int limit,
+            @AuthenticationPrincipal AuthenticatedUser caller) {
+
+        EntrySearchPageResponse page = entrySearchService.search(query, cursor, limit, caller.getUserId());
+        return ResponseEntity.ok(page);
+    }
+}
@@ -3,6 +3,7 @@ package com.journal.journalbackend.controller;
 import com.journal.journalbackend.dto.request.TagRequest;
 import com.journal.journalbackend.dto.response.EntryResponse;
 import com.journal.journalbackend.dto.response.TagResponse;
+import com.journal.journalbackend.security.AuthenticatedUser;
 import com.journal.journalbackend.service.TagService;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -10,9 +11,9 @@ import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
 
-import java.security.Principal;
 import java.util.List;
 
 @RestController
@@ -30,16 +31,16 @@ public class TagController {
     @Operation(summary = "Create a new tag")
     public ResponseEntity<TagResponse> createTag(
             @Valid @RequestBody TagRequest tagRequest,
-            Principal principal) {
+            @AuthenticationPrincipal AuthenticatedUser caller) {
 
-        TagResponse response = tagService.createTag(tagRequest, principal.getName());
+        TagResponse response = tagService.createTag(tagRequest, caller.getUserId());
         return ResponseEntity.status(HttpStatus.CREATED).body(response);
     }
 
     @GetMapping
     @Operation(summary = "Get all tags for the current user")
-    public ResponseEntity<List<TagResponse>> getAllTags(Principal principal) {
-        List<TagResponse> tags = tagService.getAllTagsForUser(principal.getName());
+    public ResponseEntity<List<TagResponse>> getAllTags(@AuthenticationPrincipal AuthenticatedUser caller) {
+        List<TagResponse> tags = tagService.getAllTagsForUser(caller.getUserId());
         return ResponseEntity.ok(tags);
     }
 
@@ -47,8 +48,8 @@ public class TagController {
     @Operation(summary = "Search tags by name")
     public ResponseEntity<List<TagResponse>> searchTags(
             @RequestParam String query,
-            Principal principal) {
-        List<TagResponse> tags = tagService.searchTagsByName(query, principal.getName());
+            @AuthenticationPrincipal AuthenticatedUser caller) {
+        List<TagResponse> tags = tagService.searchTagsByName(query, caller.getUserId());
         return ResponseEntity.ok(tags);
     }
 
@@ -56,8 +57,8 @@ public class TagController {
     @Operation(summary = "Get all entries with a specific tag")
     public ResponseEntity<List<EntryResponse>> getEntriesByTag(
             @PathVariable Long tagId,
-            Principal principal) {
-        List<EntryResponse> entries = tagService.getEntriesByTag(tagId, principal.getName());
+            @AuthenticationPrincipal AuthenticatedUser caller) {
+        List<EntryResponse> entries = tagService.getEntriesByTag(tagId, caller.getUserId());
         return ResponseEntity.ok(entries);
     }
 
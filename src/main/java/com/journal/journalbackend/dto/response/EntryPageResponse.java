@@ -0,0 +1,32 @@
+package com.journal.journalbackend.dto.response;
+
+import java.util.List;
+
+public class EntryPageResponse {
+    private List<EntryResponse> entries;
+    private String next; // Opaque cursor for the following page, null on the last page
+
+    public EntryPageResponse() {
+    }
+
+    public EntryPageResponse(List<EntryResponse> entries, String next) {
+        this.entries = entries;
+        this.next = next;
+    }
+
+    public List<EntryResponse> getEntries() {
+        return entries;
+    }
+
+    public void setEntries(List<EntryResponse> entries) {
+        this.entries = entries;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public void setNext(String next) {
+        this.next = next;
+    }
+}
@@ -0,0 +1,32 @@
+package com.journal.journalbackend.dto.response;
+
+import java.util.List;
+
+public class EntrySearchPageResponse {
+    private List<EntrySearchResult> results;
+    private String next; // Opaque cursor for the following page, null on the last page
+
+    public EntrySearchPageResponse() {
+    }
+
+    public EntrySearchPageResponse(List<EntrySearchResult> results, String next) {
+        this.results = results;
+        this.next = next;
+    }
+
+    public List<EntrySearchResult> getResults() {
+        return results;
+    }
+
+    public void setResults(List<EntrySearchResult> results) {
+        this.results = results;
+    }
+
+    public String getNext() {
+        return next;
+    }
+
+    public void setNext(String next) {
+        this.next = next;
+    }
+}
@@ -0,0 +1,61 @@
+package com.journal.journalbackend.dto.response;
+
+import java.time.LocalDate;
+
+public class EntrySearchResult {
+    private Long entryId;
+    private Long journalId;
+    private String title;
+    private String snippet; // HTML-escaped body excerpt, matches wrapped in <mark>
+    private LocalDate entryDate;
+    private float score;
+
+    // Getters and setters
+    public Long getEntryId() {
+        return entryId;
+    }
+
+    public void setEntryId(Long entryId) {
+        this.entryId = entryId;
+    }
+
+    public Long getJournalId() {
+        return journalId;
+    }
+
+    public void setJournalId(Long journalId) {
+        this.journalId = journalId;
+    }
+
+    public String getTitle() {
+        return title;
+    }
+
+    public void setTitle(String title) {
+        this.title = title;
+    }
+
+    public String getSnippet() {
+        return snippet;
+    }
+
+    public void setSnippet(String snippet) {
+        this.snippet = snippet;
+    }
+
+    public LocalDate getEntryDate() {
+        return entryDate;
+    }
+
+    public void setEntryDate(LocalDate entryDate) {
+        this.entryDate = entryDate;
+    }
+
+    public float getScore() {
+        return score;
+    }
+
+    public void setScore(float score) {
+        this.score = score;
+    }
+}
@@ -0,0 +1,38 @@
+package com.journal.journalbackend.messaging;
+
+import com.journal.journalbackend.model.EmailOutbox;
+
+public class AccountEmailMessage {
+    private Long outboxId;
+    private EmailOutbox.Type type;
+    private String email;
+    private String token;
+    private String firstName;
+
+    // Required for JSON deserialization
+    public AccountEmailMessage() {}
+
+    public AccountEmailMessage(EmailOutbox outbox) {
+        this.outboxId = outbox.getId();
+        this.type = outbox.getType();
+        this.email = outbox.getRecipient();
+        this.token = outbox.getToken();
+        this.firstName = outbox.getFirstName();
+    }
+
+    // Getters and Setters
+    public Long getOutboxId() { return outboxId; }
+    public void setOutboxId(Long outboxId) { this.outboxId = outboxId; }
+
+    public EmailOutbox.Type getType() { return type; }
+    public void setType(EmailOutbox.Type type) { this.type = type; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getToken() { return token; }
+    public void setToken(String token) { this.token = token; }
+
+    public String getFirstName() { return firstName; }
+    public void setFirstName(String firstName) { this.firstName = firstName; }
+}
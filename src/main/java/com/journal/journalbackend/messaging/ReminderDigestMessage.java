@@ -0,0 +1,107 @@
+package com.journal.journalbackend.messaging;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Every reminder one user is due in a dispatch run, delivered as a single email
+public class ReminderDigestMessage {
+    private Long userId;
+    private String email;
+    private String timezone;
+    private List<Anniversary> anniversaries = new ArrayList<>();
+    private List<MemoryLane> memoryLane = new ArrayList<>();
+    private Monthly monthly;
+
+    // Required for JSON deserialization
+    public ReminderDigestMessage() {}
+
+    public ReminderDigestMessage(ReminderRecipient recipient) {
+        this.userId = recipient.getUserId();
+        this.email = recipient.getEmail();
+        this.timezone = recipient.getTimezone().getId();
+    }
+
+    // Number of single-reminder messages this digest stands in for
+    public int reminderCount() {
+        return anniversaries.size() + memoryLane.size() + (monthly != null ? 1 : 0);
+    }
+
+    public static class Anniversary {
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        private LocalDate entryDate;
+        private long yearsAgo;
+
+        public Anniversary() {}
+
+        public Anniversary(LocalDate entryDate, long yearsAgo) {
+            this.entryDate = entryDate;
+            this.yearsAgo = yearsAgo;
+        }
+
+        public LocalDate getEntryDate() { return entryDate; }
+        public void setEntryDate(LocalDate entryDate) { this.entryDate = entryDate; }
+
+        public long getYearsAgo() { return yearsAgo; }
+        public void setYearsAgo(long yearsAgo) { this.yearsAgo = yearsAgo; }
+    }
+
+    public static class MemoryLane {
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        private LocalDate date;
+        private long entryCount;
+
+        public MemoryLane() {}
+
+        public MemoryLane(LocalDate date, long entryCount) {
+            this.date = date;
+            this.entryCount = entryCount;
+        }
+
+        public LocalDate getDate() { return date; }
+        public void setDate(LocalDate date) { this.date = date; }
+
+        public long getEntryCount() { return entryCount; }
+        public void setEntryCount(long entryCount) { this.entryCount = entryCount; }
+    }
+
+    public static class Monthly {
+        @JsonFormat(pattern = "yyyy-MM-dd")
+        private LocalDate monthYear;
+        private long entryCount;
+
+        public Monthly() {}
+
+        public Monthly(LocalDate monthYear, long entryCount) {
+            this.monthYear = monthYear;
+            this.entryCount = entryCount;
+        }
+
+        public LocalDate getMonthYear() { return monthYear; }
+        public void setMonthYear(LocalDate monthYear) { this.monthYear = monthYear; }
+
+        public long getEntryCount() { return entryCount; }
+        public void setEntryCount(long entryCount) { this.entryCount = entryCount; }
+    }
+
+    // Getters and Setters
+    public Long getUserId() { return userId; }
+    public void setUserId(Long userId) { this.userId = userId; }
+
+    public String getEmail() { return email; }
+    public void setEmail(String email) { this.email = email; }
+
+    public String getTimezone() { return timezone; }
+    public void setTimezone(String timezone) { this.timezone = timezone; }
+
+    public List<Anniversary> getAnniversaries() { return anniversaries; }
+    public void setAnniversaries(List<Anniversary> anniversaries) { this.anniversaries = anniversaries; }
+
+    public List<MemoryLane> getMemoryLane() { return memoryLane; }
+    public void setMemoryLane(List<MemoryLane> memoryLane) { this.memoryLane = memoryLane; }
+
+    public Monthly getMonthly() { return monthly; }
+    public void setMonthly(Monthly monthly) { this.monthly = monthly; }
+}
@@ -0,0 +1,22 @@
+package com.journal.journalbackend.messaging;
+
+import java.time.ZoneId;
+
+// The few user fields a reminder needs, so bulk paths can publish without loading User entities
+public class ReminderRecipient {
+    private final Long userId;
+    private final String email;
+    private final ZoneId timezone;
+
+    public ReminderRecipient(Long userId, String email, ZoneId timezone) {
+        this.userId = userId;
+        this.email = email;
+        this.timezone = timezone;
+    }
+
+    public Long getUserId() { return userId; }
+
+    public String getEmail() { return email; }
+
+    public ZoneId getTimezone() { return timezone; }
+}
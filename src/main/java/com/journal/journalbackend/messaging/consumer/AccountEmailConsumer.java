@@ -0,0 +1,56 @@
+package com.journal.journalbackend.messaging.consumer;
+
+import com.journal.journalbackend.config.EmailConfig;
+import com.journal.journalbackend.config.RabbitConfig;
+import com.journal.journalbackend.messaging.AccountEmailMessage;
+import com.rabbitmq.client.Channel;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+
+// Sends verification and password reset emails relayed from the outbox, on consumers separate from reminders
+@Component
+public class AccountEmailConsumer {
+    private static final Logger logger = LoggerFactory.getLogger(AccountEmailConsumer.class);
+
+    private final EmailConfig emailService;
+    private final ReminderRetryRouter retryRouter;
+    private final MessageConverter messageConverter;
+
+    public AccountEmailConsumer(EmailConfig emailService,
+                                ReminderRetryRouter retryRouter,
+                                MessageConverter messageConverter) {
+        this.emailService = emailService;
+        this.retryRouter = retryRouter;
+        this.messageConverter = messageConverter;
+    }
+
+    @RabbitListener(queues = RabbitConfig.QUEUE_ACCOUNT_EMAILS,
+            containerFactory = RabbitConfig.ACCOUNT_EMAIL_CONTAINER_FACTORY)
+    public void processAccountEmail(Message message, Channel channel) throws IOException {
+        long deliveryTag = message.getMessageProperties().getDeliveryTag();
+        try {
+            AccountEmailMessage email = (AccountEmailMessage) messageConverter.fromMessage(message);
+            switch (email.getType()) {
+                case VERIFICATION ->
+                        emailService.sendVerificationEmail(email.getEmail(), email.getToken(), email.getFirstName());
+                case PASSWORD_RESET ->
+                        emailService.sendPasswordResetEmail(email.getEmail(), email.getToken(), email.getFirstName());
+            }
+            channel.basicAck(deliveryTag, false);
+        } catch (RuntimeException e) {
+            // Same broker-side backoff tiers as reminders; requeue only if the broker would not take it
+            logger.error("Account email not sent: {}", e.getMessage());
+            if (retryRouter.retry(message, String.valueOf(e.getMessage()))) {
+                channel.basicAck(deliveryTag, false);
+            } else {
+                channel.basicNack(deliveryTag, false, true);
+            }
+        }
+    }
+}
@@ -2,46 +2,178 @@ package com.journal.journalbackend.messaging.consumer;
 
 import com.journal.journalbackend.config.EmailConfig;
 import com.journal.journalbackend.config.RabbitConfig;
+import com.journal.journalbackend.messaging.ReminderDigestMessage;
 import com.journal.journalbackend.messaging.ReminderMessage;
+import com.rabbitmq.client.Channel;
+import jakarta.annotation.PreDestroy;
+import jakarta.mail.SendFailedException;
+import jakarta.mail.internet.MimeMessage;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.core.Message;
 import org.springframework.amqp.rabbit.annotation.RabbitListener;
+import org.springframework.amqp.support.converter.MessageConverter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.mail.MailException;
+import org.springframework.mail.MailSendException;
 import org.springframework.stereotype.Component;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Batch consumers for reminder emails. Each batch is rendered in parallel, sent over one SMTP
+ * connection, and every delivery is settled on its own: acked when sent, otherwise handed to
+ * the broker-side retry tiers or parking lot so no consumer thread waits out a backoff.
+ */
 @Component
 public class ReminderConsumer {
+    private static final Logger logger = LoggerFactory.getLogger(ReminderConsumer.class);
 
     private final EmailConfig emailService;
+    private final ReminderRetryRouter retryRouter;
+    private final MessageConverter messageConverter;
+    private final ExecutorService renderExecutor;
 
-    public ReminderConsumer(EmailConfig emailService) {
+    public ReminderConsumer(EmailConfig emailService,
+                            ReminderRetryRouter retryRouter,
+                            MessageConverter messageConverter,
+                            @Value("${app.mail.render-threads:4}") int renderThreads) {
         this.emailService = emailService;
+        this.retryRouter = retryRouter;
+        this.messageConverter = messageConverter;
+        AtomicInteger threadNumber = new AtomicInteger();
+        this.renderExecutor = Executors.newFixedThreadPool(Math.max(renderThreads, 1), runnable -> {
+            Thread thread = new Thread(runnable, "mail-render-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @RabbitListener(queues = RabbitConfig.QUEUE_REMINDER_DIGESTS,
+            containerFactory = RabbitConfig.REMINDER_BATCH_CONTAINER_FACTORY)
+    public void processReminderDigests(List<Message> batch, Channel channel) {
+        deliver(batch, channel, (ReminderDigestMessage digest) -> emailService.buildReminderDigest(digest));
     }
 
-    @RabbitListener(queues = RabbitConfig.QUEUE_MONTHLY_REMINDERS)
-    public void processMonthlyReminder(ReminderMessage message) {
-        emailService.sendMonthlySummary(
+    // Single-reminder queues, still drained for messages published before digests
+    @RabbitListener(queues = RabbitConfig.QUEUE_MONTHLY_REMINDERS,
+            containerFactory = RabbitConfig.REMINDER_BATCH_CONTAINER_FACTORY)
+    public void processMonthlyReminders(List<Message> batch, Channel channel) {
+        deliver(batch, channel, (ReminderMessage message) -> emailService.buildMonthlySummary(
                 message.getEmail(),
                 message.getEntryCount(),
                 message.getMonthYear()
-        );
+        ));
     }
 
-    @RabbitListener(queues = RabbitConfig.QUEUE_MEMORY_LANE_REMINDERS)
-    public void processMemoryLaneReminder(ReminderMessage message) {
-        emailService.sendMemoryLaneEmail(
+    @RabbitListener(queues = RabbitConfig.QUEUE_MEMORY_LANE_REMINDERS,
+            containerFactory = RabbitConfig.REMINDER_BATCH_CONTAINER_FACTORY)
+    public void processMemoryLaneReminders(List<Message> batch, Channel channel) {
+        deliver(batch, channel, (ReminderMessage message) -> emailService.buildMemoryLaneEmail(
                 message.getEmail(),
                 message.getMonthYear(),
                 message.getEntryCount()
-
-        );
+        ));
     }
 
-    @RabbitListener(queues = RabbitConfig.QUEUE_ANNIVERSARY_REMINDERS)
-    public void processAnniversaryReminder(ReminderMessage message) {
-        emailService.sendAnniversaryEmail(
+    @RabbitListener(queues = RabbitConfig.QUEUE_ANNIVERSARY_REMINDERS,
+            containerFactory = RabbitConfig.REMINDER_BATCH_CONTAINER_FACTORY)
+    public void processAnniversaryReminders(List<Message> batch, Channel channel) {
+        deliver(batch, channel, (ReminderMessage message) -> emailService.buildAnniversaryEmail(
                 message.getEmail(),
                 message.getEntryCount(), // yearsAgo
                 message.getMonthYear()   // original date
-        );
+        ));
     }
 
+    // Helper method: render a batch in parallel, send it in one SMTP session and settle each delivery
+    @SuppressWarnings("unchecked")
+    private <T> void deliver(List<Message> batch, Channel channel, Function<T, MimeMessage> builder) {
+        List<CompletableFuture<MimeMessage>> rendering = new ArrayList<>(batch.size());
+        for (Message message : batch) {
+            rendering.add(CompletableFuture.supplyAsync(
+                    () -> builder.apply((T) messageConverter.fromMessage(message)), renderExecutor));
+        }
+
+        // MimeMessage has identity equality, which is also how the mail sender reports failures
+        Map<MimeMessage, Message> rendered = new IdentityHashMap<>();
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                rendered.put(rendering.get(i).join(), batch.get(i));
+            } catch (CompletionException e) {
+                // Bad payloads will not render on a retry either
+                fail(channel, batch.get(i), "render failed: " + e.getCause().getMessage(), false);
+            }
+        }
+        if (rendered.isEmpty()) {
+            return;
+        }
+
+        Map<Object, Exception> failures = Map.of();
+        try {
+            emailService.sendAll(rendered.keySet().toArray(new MimeMessage[0]));
+        } catch (MailSendException e) {
+            failures = e.getFailedMessages();
+        } catch (MailException e) {
+            // Nothing was sent (authentication or connection trouble), retry the whole batch later
+            logger.error("Reminder batch of {} not sent: {}", rendered.size(), e.getMessage());
+            rendered.values().forEach(message -> fail(channel, message, e.getMessage(), true));
+            return;
+        }
+
+        for (Map.Entry<MimeMessage, Message> delivery : rendered.entrySet()) {
+            Exception failure = failures.get(delivery.getKey());
+            if (failure == null) {
+                ack(channel, delivery.getValue().getMessageProperties().getDeliveryTag());
+            } else {
+                // Rejected addresses stay rejected; anything else is worth another attempt
+                fail(channel, delivery.getValue(), failure.getMessage(), !(failure instanceof SendFailedException));
+            }
+        }
+    }
 
-}
\ No newline at end of file
+    // Helper method: move a failed delivery to a retry tier or the parking lot, then ack it.
+    // If the broker would not take it, requeue it instead so it is not lost.
+    private void fail(Channel channel, Message message, String reason, boolean retryable) {
+        boolean moved = retryable ? retryRouter.retry(message, reason) : retryRouter.park(message, reason);
+        long deliveryTag = message.getMessageProperties().getDeliveryTag();
+        if (moved) {
+            ack(channel, deliveryTag);
+        } else {
+            nack(channel, deliveryTag, true);
+        }
+    }
+
+    private void ack(Channel channel, long deliveryTag) {
+        try {
+            channel.basicAck(deliveryTag, false);
+        } catch (IOException e) {
+            logger.warn("Could not ack delivery {}: {}", deliveryTag, e.getMessage());
+        }
+    }
+
+    private void nack(Channel channel, long deliveryTag, boolean requeue) {
+        try {
+            channel.basicNack(deliveryTag, false, requeue);
+        } catch (IOException e) {
+            logger.warn("Could not nack delivery {}: {}", deliveryTag, e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        renderExecutor.shutdown();
+        renderExecutor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
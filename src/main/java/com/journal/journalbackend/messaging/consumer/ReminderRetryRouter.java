@@ -0,0 +1,123 @@
+package com.journal.journalbackend.messaging.consumer;
+
+import com.journal.journalbackend.config.RabbitConfig;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.core.AmqpAdmin;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.core.QueueInformation;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Moves failed reminder deliveries out of the way of the consumer: into the next retry tier,
+ * where the broker holds them for the tier's delay and then dead-letters them back to their
+ * original queue, or into the parking lot once the tiers are used up.
+ */
+@Component
+public class ReminderRetryRouter {
+    private static final Logger logger = LoggerFactory.getLogger(ReminderRetryRouter.class);
+
+    static final String ATTEMPT_HEADER = "x-reminder-attempt";
+    static final String ORIGINAL_QUEUE_HEADER = "x-original-queue";
+    static final String FAILURE_HEADER = "x-last-failure";
+
+    private final RabbitTemplate rabbitTemplate;
+    private final List<Duration> delays;
+    private final Counter retried;
+    private final Counter parked;
+
+    public ReminderRetryRouter(RabbitTemplate rabbitTemplate,
+                               AmqpAdmin amqpAdmin,
+                               MeterRegistry meterRegistry,
+                               @Value("${app.messaging.retry.delays:PT10S,PT1M,PT5M,PT30M}") List<Duration> delays) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.delays = delays;
+        this.retried = Counter.builder("messaging.retry.messages").tag("outcome", "retried")
+                .register(meterRegistry);
+        this.parked = Counter.builder("messaging.retry.messages").tag("outcome", "parked")
+                .register(meterRegistry);
+
+        for (Duration delay : delays) {
+            registerDepthGauge(meterRegistry, amqpAdmin, RabbitConfig.retryTierName(delay));
+        }
+        registerDepthGauge(meterRegistry, amqpAdmin, RabbitConfig.QUEUE_REMINDER_PARKING_LOT);
+    }
+
+    // Send a failed delivery to its next retry tier, or park it when none is left; false if the broker did not take it
+    public boolean retry(Message message, String reason) {
+        MessageProperties properties = message.getMessageProperties();
+        Object header = properties.getHeader(ATTEMPT_HEADER);
+        int attempts = header instanceof Number ? ((Number) header).intValue() : 0;
+        if (attempts >= delays.size()) {
+            return park(message, reason);
+        }
+
+        String queue = originalQueue(properties);
+        properties.setHeader(ATTEMPT_HEADER, attempts + 1);
+        properties.setHeader(ORIGINAL_QUEUE_HEADER, queue);
+        properties.setHeader(FAILURE_HEADER, reason);
+        // Routing key is the original queue, which is where the tier dead-letters it back to
+        boolean moved = publish(RabbitConfig.retryTierName(delays.get(attempts)), queue, message);
+        if (moved) {
+            retried.increment();
+        }
+        return moved;
+    }
+
+    // Set a delivery aside for inspection; nothing consumes the parking lot
+    public boolean park(Message message, String reason) {
+        MessageProperties properties = message.getMessageProperties();
+        properties.setHeader(ORIGINAL_QUEUE_HEADER, originalQueue(properties));
+        properties.setHeader(FAILURE_HEADER, reason);
+        boolean moved = publish("", RabbitConfig.QUEUE_REMINDER_PARKING_LOT, message);
+        if (moved) {
+            parked.increment();
+            logger.warn("Parked reminder from {}: {}", properties.getHeader(ORIGINAL_QUEUE_HEADER), reason);
+        }
+        return moved;
+    }
+
+    // Helper method: publish and wait for the confirm, so the caller only acks a delivery the broker has kept
+    private boolean publish(String exchange, String routingKey, Message message) {
+        CorrelationData correlation = new CorrelationData();
+        try {
+            rabbitTemplate.send(exchange, routingKey, message, correlation);
+            return correlation.getFuture().get(10, TimeUnit.SECONDS).isAck();
+        } catch (AmqpException | ExecutionException | TimeoutException e) {
+            logger.error("Could not move reminder to {}: {}", exchange.isEmpty() ? routingKey : exchange, e.getMessage());
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private String originalQueue(MessageProperties properties) {
+        Object queue = properties.getHeader(ORIGINAL_QUEUE_HEADER);
+        return queue != null ? queue.toString() : properties.getConsumerQueue();
+    }
+
+    private void registerDepthGauge(MeterRegistry meterRegistry, AmqpAdmin amqpAdmin, String queue) {
+        Gauge.builder("messaging.retry.depth", amqpAdmin, admin -> {
+                    QueueInformation info = admin.getQueueInfo(queue);
+                    return info != null ? info.getMessageCount() : Double.NaN;
+                })
+                .tag("queue", queue)
+                .description("Messages waiting in a retry tier or the parking lot")
+                .register(meterRegistry);
+    }
+}
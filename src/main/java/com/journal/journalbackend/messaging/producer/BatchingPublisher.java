@@ -0,0 +1,252 @@
+package com.journal.journalbackend.messaging.producer;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Buffers outgoing messages and publishes them in batches, each batch on a single cached channel.
+ * Every message carries correlation data and is settled by its asynchronous publisher confirm;
+ * nacked or unsent messages are re-queued with backoff until they are confirmed or run out of attempts.
+ * Requires spring.rabbitmq.publisher-confirm-type=correlated.
+ */
+@Component
+public class BatchingPublisher {
+    private static final Logger logger = LoggerFactory.getLogger(BatchingPublisher.class);
+
+    private final RabbitTemplate rabbitTemplate;
+    private final BlockingQueue<PendingMessage> buffer;
+    private final Semaphore outstandingPermits;
+    private final ScheduledExecutorService retryScheduler;
+    private final Thread publisherThread;
+    private final int batchSize;
+    private final long lingerNanos;
+    private final int maxAttempts;
+    private final Duration retryBackoff;
+    private final Duration flushTimeout;
+    private final int maxOutstanding;
+
+    // Messages accepted but not yet confirmed or given up on
+    private final Object settleMonitor = new Object();
+    private long unsettled;
+    private volatile boolean running = true;
+
+    private final Counter confirmed;
+    private final Counter retried;
+    private final Counter failed;
+    private final Timer batchTimer;
+
+    private static final class PendingMessage {
+        private final String queue;
+        private final Object payload;
+        private int attempts;
+
+        private PendingMessage(String queue, Object payload) {
+            this.queue = queue;
+            this.payload = payload;
+        }
+    }
+
+    public BatchingPublisher(RabbitTemplate rabbitTemplate,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.messaging.publish.batch-size:500}") int batchSize,
+                             @Value("${app.messaging.publish.linger:PT0.05S}") Duration linger,
+                             @Value("${app.messaging.publish.buffer-capacity:10000}") int bufferCapacity,
+                             @Value("${app.messaging.publish.max-outstanding:5000}") int maxOutstanding,
+                             @Value("${app.messaging.publish.max-attempts:5}") int maxAttempts,
+                             @Value("${app.messaging.publish.retry-backoff:PT1S}") Duration retryBackoff,
+                             @Value("${app.messaging.publish.flush-timeout:PT5M}") Duration flushTimeout) {
+        this.rabbitTemplate = rabbitTemplate;
+        this.batchSize = Math.max(batchSize, 1);
+        this.lingerNanos = linger.toNanos();
+        this.buffer = new LinkedBlockingQueue<>(Math.max(bufferCapacity, this.batchSize));
+        // A whole batch must fit in the confirm window or the publisher thread could never proceed
+        this.maxOutstanding = Math.max(maxOutstanding, this.batchSize);
+        this.outstandingPermits = new Semaphore(this.maxOutstanding);
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.retryBackoff = retryBackoff;
+        this.flushTimeout = flushTimeout;
+
+        this.confirmed = Counter.builder("messaging.publish.messages").tag("result", "confirmed")
+                .register(meterRegistry);
+        this.retried = Counter.builder("messaging.publish.messages").tag("result", "retried")
+                .register(meterRegistry);
+        this.failed = Counter.builder("messaging.publish.messages").tag("result", "failed")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("messaging.publish.batch")
+                .description("Time to hand one batch to the broker, excluding confirms")
+                .register(meterRegistry);
+        Gauge.builder("messaging.publish.buffered", buffer, BlockingQueue::size)
+                .description("Messages waiting to be published")
+                .register(meterRegistry);
+        Gauge.builder("messaging.publish.outstanding", outstandingPermits,
+                        permits -> this.maxOutstanding - permits.availablePermits())
+                .description("Messages published and awaiting a confirm")
+                .register(meterRegistry);
+
+        this.retryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "publish-retry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        this.publisherThread = new Thread(this::runPublisher, "batch-publisher");
+        this.publisherThread.setDaemon(true);
+        this.publisherThread.start();
+    }
+
+    // Queue a message for publishing; blocks while the buffer is full
+    public void publish(String queue, Object payload) {
+        synchronized (settleMonitor) {
+            unsettled++;
+        }
+        enqueue(new PendingMessage(queue, payload));
+    }
+
+    // Wait until everything published so far is confirmed or given up on; false if the timeout expired first
+    public boolean flush() {
+        long deadline = System.nanoTime() + flushTimeout.toNanos();
+        synchronized (settleMonitor) {
+            while (unsettled > 0) {
+                long remainingMillis = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remainingMillis <= 0) {
+                    logger.warn("Publisher flush timed out with {} messages unconfirmed", unsettled);
+                    return false;
+                }
+                try {
+                    settleMonitor.wait(remainingMillis);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private void enqueue(PendingMessage message) {
+        try {
+            buffer.put(message);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            giveUp(message, "interrupted while buffering");
+        }
+    }
+
+    private void runPublisher() {
+        List<PendingMessage> batch = new ArrayList<>(batchSize);
+        while (running || !buffer.isEmpty()) {
+            try {
+                PendingMessage first = buffer.poll(100, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Linger briefly so a filling buffer goes out as one full batch
+                long deadline = System.nanoTime() + lingerNanos;
+                while (batch.size() < batchSize) {
+                    PendingMessage next = buffer.poll(deadline - System.nanoTime(), TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+                publishBatch(batch);
+            } catch (InterruptedException e) {
+                batch.forEach(message -> giveUp(message, "publisher stopped"));
+                return;
+            } finally {
+                batch.clear();
+            }
+        }
+    }
+
+    // Helper method: send one batch on one channel; confirms settle each message asynchronously
+    private void publishBatch(List<PendingMessage> batch) throws InterruptedException {
+        // Confirm window: each message holds a permit until its confirm arrives
+        outstandingPermits.acquire(batch.size());
+        int[] sent = {0};
+        Timer.Sample sample = Timer.start();
+        try {
+            rabbitTemplate.invoke(operations -> {
+                for (PendingMessage message : batch) {
+                    CorrelationData correlation = new CorrelationData();
+                    operations.convertAndSend(message.queue, message.payload, correlation);
+                    sent[0]++;
+                    correlation.getFuture().whenComplete((confirm, error) -> {
+                        outstandingPermits.release();
+                        if (error == null && confirm.isAck()) {
+                            confirmed.increment();
+                            settle();
+                        } else {
+                            retryOrFail(message, error != null ? error.getMessage() : confirm.getReason());
+                        }
+                    });
+                }
+                return null;
+            });
+        } catch (AmqpException e) {
+            // Messages from the failed send onwards never reached the broker
+            logger.warn("Batch publish failed after {} of {} messages: {}", sent[0], batch.size(), e.getMessage());
+            for (int i = sent[0]; i < batch.size(); i++) {
+                outstandingPermits.release();
+                retryOrFail(batch.get(i), e.getMessage());
+            }
+        } finally {
+            sample.stop(batchTimer);
+        }
+    }
+
+    // Helper method: runs on broker callback threads, so re-queueing is handed to the retry scheduler
+    private void retryOrFail(PendingMessage message, String reason) {
+        message.attempts++;
+        if (message.attempts >= maxAttempts) {
+            giveUp(message, reason);
+            return;
+        }
+        retried.increment();
+        retryScheduler.schedule(() -> enqueue(message),
+                retryBackoff.toMillis() * message.attempts, TimeUnit.MILLISECONDS);
+    }
+
+    private void giveUp(PendingMessage message, String reason) {
+        failed.increment();
+        logger.error("Dropping message for {} after {} attempts: {}", message.queue, message.attempts, reason);
+        settle();
+    }
+
+    private void settle() {
+        synchronized (settleMonitor) {
+            if (--unsettled == 0) {
+                settleMonitor.notifyAll();
+            }
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        flush();
+        running = false;
+        publisherThread.join(TimeUnit.SECONDS.toMillis(5));
+        publisherThread.interrupt();
+        retryScheduler.shutdownNow();
+    }
+}
@@ -0,0 +1,180 @@
+package com.journal.journalbackend.messaging.producer;
+
+import com.journal.journalbackend.config.RabbitConfig;
+import com.journal.journalbackend.messaging.AccountEmailMessage;
+import com.journal.journalbackend.model.EmailOutbox;
+import com.journal.journalbackend.repository.EmailOutboxRepository;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.amqp.AmqpException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Moves account emails from the outbox table to the account email queue.
+ * Woken right after each outbox write commits, and polled as a fallback so rows left behind
+ * by a broker outage or a crash are picked up again. Rows are only marked published once the
+ * broker confirms them; SKIP LOCKED lets several nodes relay side by side.
+ */
+@Component
+public class EmailOutboxRelay {
+    private static final Logger logger = LoggerFactory.getLogger(EmailOutboxRelay.class);
+
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final RabbitTemplate rabbitTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final ExecutorService relayExecutor;
+    private final AtomicBoolean relayPending = new AtomicBoolean();
+    private final int batchSize;
+    private final Duration confirmTimeout;
+    private final Duration retention;
+    private final Duration retryBackoff;
+    private final Duration maxBackoff;
+    private final int maxAttempts;
+
+    // Rows handled by one batch and how many of them were not confirmed
+    private record BatchResult(int rows, int failed) {
+    }
+
+    public EmailOutboxRelay(EmailOutboxRepository emailOutboxRepository,
+                            RabbitTemplate rabbitTemplate,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${app.outbox.batch-size:100}") int batchSize,
+                            @Value("${app.outbox.confirm-timeout:PT10S}") Duration confirmTimeout,
+                            @Value("${app.outbox.retention:P7D}") Duration retention,
+                            @Value("${app.outbox.retry-backoff:PT10S}") Duration retryBackoff,
+                            @Value("${app.outbox.max-backoff:PT10M}") Duration maxBackoff,
+                            @Value("${app.outbox.max-attempts:10}") int maxAttempts) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.rabbitTemplate = rabbitTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.batchSize = Math.max(batchSize, 1);
+        this.confirmTimeout = confirmTimeout;
+        this.retention = retention;
+        this.retryBackoff = retryBackoff;
+        this.maxBackoff = maxBackoff;
+        this.maxAttempts = Math.max(maxAttempts, 1);
+        this.relayExecutor = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "outbox-relay");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Ask for a relay pass; requests made while one is already queued fold into it
+    public void wake() {
+        if (relayPending.compareAndSet(false, true)) {
+            relayExecutor.execute(() -> {
+                relayPending.set(false);
+                relayAll();
+            });
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.poll-interval:PT5S}")
+    public void poll() {
+        wake();
+    }
+
+    @Scheduled(fixedDelayString = "${app.outbox.cleanup-interval:PT1H}")
+    public void deletePublished() {
+        transactionTemplate.executeWithoutResult(status ->
+                emailOutboxRepository.deletePublishedBefore(LocalDateTime.now().minus(retention)));
+    }
+
+    private void relayAll() {
+        try {
+            // Keep going while full batches publish cleanly, the outbox may have a backlog;
+            // any failure ends the pass so a broker outage cannot spin this thread
+            BatchResult result = transactionTemplate.execute(status -> relayBatch());
+            while (result.rows() == batchSize && result.failed() == 0) {
+                logger.debug("Outbox backlog remains, relaying another batch");
+                result = transactionTemplate.execute(status -> relayBatch());
+            }
+        } catch (RuntimeException e) {
+            logger.error("Outbox relay pass failed, the next poll will retry: {}", e.getMessage());
+        }
+    }
+
+    // Helper method: publish one locked batch and mark the rows the broker confirmed
+    private BatchResult relayBatch() {
+        List<EmailOutbox> rows = emailOutboxRepository.lockUnpublished(LocalDateTime.now(), batchSize);
+        List<CorrelationData> confirms = new ArrayList<>(rows.size());
+        for (EmailOutbox row : rows) {
+            CorrelationData correlation = new CorrelationData(String.valueOf(row.getId()));
+            try {
+                rabbitTemplate.convertAndSend(RabbitConfig.QUEUE_ACCOUNT_EMAILS, new AccountEmailMessage(row), correlation);
+            } catch (AmqpException e) {
+                logger.warn("Could not publish outbox email {}: {}", row.getId(), e.getMessage());
+                correlation = null;
+            }
+            confirms.add(correlation);
+        }
+
+        long deadline = System.nanoTime() + confirmTimeout.toNanos();
+        LocalDateTime now = LocalDateTime.now();
+        int failed = 0;
+        for (int i = 0; i < rows.size(); i++) {
+            EmailOutbox row = rows.get(i);
+            if (isConfirmed(confirms.get(i), deadline)) {
+                row.setPublishedAt(now);
+            } else {
+                failed++;
+                scheduleRetry(row, now);
+            }
+        }
+        emailOutboxRepository.saveAll(rows);
+        return new BatchResult(rows.size(), failed);
+    }
+
+    // Helper method: back the row off exponentially, or park it once it has used up its attempts
+    private void scheduleRetry(EmailOutbox row, LocalDateTime now) {
+        int attempts = row.getAttempts() + 1;
+        row.setAttempts(attempts);
+        if (attempts >= maxAttempts) {
+            row.setParkedAt(now);
+            logger.error("Parked outbox email {} ({}) after {} failed attempts", row.getId(), row.getType(), attempts);
+            return;
+        }
+        Duration backoff = retryBackoff.multipliedBy(1L << Math.min(attempts - 1, 20));
+        row.setNextAttemptAt(now.plus(backoff.compareTo(maxBackoff) > 0 ? maxBackoff : backoff));
+    }
+
+    private boolean isConfirmed(CorrelationData correlation, long deadline) {
+        if (correlation == null) {
+            return false;
+        }
+        try {
+            long remaining = Math.max(deadline - System.nanoTime(), 0);
+            return correlation.getFuture().get(remaining, TimeUnit.NANOSECONDS).isAck();
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        relayExecutor.shutdown();
+        relayExecutor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
@@ -1,65 +1,39 @@
 package com.journal.journalbackend.messaging.producer;
 
 import com.journal.journalbackend.config.RabbitConfig;
-import com.journal.journalbackend.messaging.ReminderMessage;
-import com.journal.journalbackend.model.User;
-import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import com.journal.journalbackend.messaging.ReminderDigestMessage;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDate;
+import java.util.Collection;
 
 @Component
 public class ReminderProducer {
-    private final RabbitTemplate rabbitTemplate;
-
-    public ReminderProducer(RabbitTemplate rabbitTemplate) {
-        this.rabbitTemplate = rabbitTemplate;
-    }
-
-    public void sendMonthlyReminder(User user, long entryCount, LocalDate monthYear) {
-        ReminderMessage message = new ReminderMessage(
-                user.getId(),
-                user.getEmail(),
-                entryCount,
-                monthYear,
-                user.getTimezone().getId()
-        );
-
-        rabbitTemplate.convertAndSend(
-                RabbitConfig.QUEUE_MONTHLY_REMINDERS,
-                message
-        );
+    private final BatchingPublisher batchingPublisher;
+    private final Counter digestsPublished;
+    private final Counter remindersCoalesced;
+
+    public ReminderProducer(BatchingPublisher batchingPublisher, MeterRegistry meterRegistry) {
+        this.batchingPublisher = batchingPublisher;
+        this.digestsPublished = Counter.builder("reminders.digests.published")
+                .description("Digest messages published, one per user per dispatch run")
+                .register(meterRegistry);
+        this.remindersCoalesced = Counter.builder("reminders.digests.reminders")
+                .description("Individual reminders folded into digests")
+                .register(meterRegistry);
     }
 
-    public void sendMemoryLaneReminder(User user, long entryCount, LocalDate originalDate) {
-        ReminderMessage message = new ReminderMessage(
-                user.getId(),
-                user.getEmail(),
-                entryCount,
-                originalDate,
-                user.getTimezone().getId()
-        );
-
-        rabbitTemplate.convertAndSend(
-                RabbitConfig.QUEUE_MEMORY_LANE_REMINDERS,
-                message
-        );
+    public void sendDigests(Collection<ReminderDigestMessage> digests) {
+        for (ReminderDigestMessage digest : digests) {
+            batchingPublisher.publish(RabbitConfig.QUEUE_REMINDER_DIGESTS, digest);
+            digestsPublished.increment();
+            remindersCoalesced.increment(digest.reminderCount());
+        }
     }
 
-    public void sendAnniversaryReminder(User user, long yearsAgo, LocalDate originalDate) {
-        ReminderMessage message = new ReminderMessage(
-                user.getId(),
-                user.getEmail(),
-                yearsAgo,
-                originalDate,
-                user.getTimezone().getId()
-        );
-
-        rabbitTemplate.convertAndSend(
-                RabbitConfig.QUEUE_ANNIVERSARY_REMINDERS,
-                message
-        );
+    // Wait for broker confirms on every reminder sent so far
+    public boolean flush() {
+        return batchingPublisher.flush();
     }
-
-
 }
@@ -1,6 +1,7 @@
 package com.journal.journalbackend.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.*;
 import java.util.ArrayList;
@@ -11,7 +12,10 @@ import java.util.Set;
 @Entity
 @Table(name = "entries", indexes = {
         @Index(name = "idx_entry_user_created", columnList = "journal_id, created_at"),
-        @Index(name = "idx_entry_created_at", columnList = "created_at")
+        @Index(name = "idx_entry_created_at", columnList = "created_at"),
+        @Index(name = "idx_entry_journal_date_id", columnList = "journal_id, deleted_at, entry_date, id"),
+        @Index(name = "idx_entry_month_day", columnList = "month_day, journal_id"),
+        @Index(name = "idx_entry_updated_at", columnList = "updated_at, id")
 })
 public class Entry {
     @Id
@@ -27,11 +31,16 @@ public class Entry {
     @Column(name = "entry_date", nullable = false)
     private LocalDate entryDate;
 
+    // month * 100 + day of entryDate, kept in step by the lifecycle hooks for anniversary lookups
+    @Column(name = "month_day")
+    private Integer monthDay;
+
     @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "journal_id", nullable = false)
     private Journal journal;
 
     @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     @JoinTable(
             name = "entry_tags",
             joinColumns = @JoinColumn(name = "entry_id"),
@@ -120,6 +129,10 @@ public class Entry {
     }
 
 
+    public Integer getMonthDay() {
+        return monthDay;
+    }
+
     public Journal getJournal() {
         return journal;
     }
@@ -190,12 +203,18 @@ public class Entry {
         createdAt = LocalDateTime.now();
         updatedAt = LocalDateTime.now();
         lastEditedAt = LocalDateTime.now();
+        monthDay = monthDayOf(entryDate);
     }
 
     @PreUpdate
     protected void onUpdate() {
         updatedAt = LocalDateTime.now();
         lastEditedAt = LocalDateTime.now();
+        monthDay = monthDayOf(entryDate);
+    }
+
+    public static int monthDayOf(LocalDate date) {
+        return date.getMonthValue() * 100 + date.getDayOfMonth();
     }
 
 
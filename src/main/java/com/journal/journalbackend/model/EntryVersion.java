@@ -1,6 +1,7 @@
 package com.journal.journalbackend.model;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.BatchSize;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
@@ -17,9 +18,21 @@ public class EntryVersion {
     @Column(nullable = false)
     private String title;
 
+    // Full text on snapshot versions; empty on delta versions, whose text is rebuilt from the chain
     @Column(columnDefinition = "TEXT", nullable = false)
     private String body;
 
+    // Copy/insert delta against the base version, null for snapshots
+    @Column(name = "body_delta", columnDefinition = "TEXT")
+    private String bodyDelta;
+
+    @Column(name = "base_version_id")
+    private Long baseVersionId;
+
+    // Number of deltas between this version and its nearest snapshot
+    @Column(name = "chain_depth", columnDefinition = "INT NOT NULL DEFAULT 0")
+    private int chainDepth;
+
     @Column(name = "entry_date", nullable = false)
     private LocalDate entryDate;
 
@@ -27,7 +40,7 @@ public class EntryVersion {
     @Column(name = "version_number", nullable = false)
     private String versionNumber;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "created_by", nullable = false)
     private User createdBy;  // Must be set before saving
 
@@ -41,6 +54,7 @@ public class EntryVersion {
     private LocalDateTime deletedAt; // Soft deletion timestamp
 
     @ManyToMany(fetch = FetchType.LAZY)
+    @BatchSize(size = 100)
     @JoinTable(
             name = "entry_version_tags",
             joinColumns = @JoinColumn(name = "entry_version_id"),
@@ -96,6 +110,34 @@ public class EntryVersion {
         this.body = body;
     }
 
+    public String getBodyDelta() {
+        return bodyDelta;
+    }
+
+    public void setBodyDelta(String bodyDelta) {
+        this.bodyDelta = bodyDelta;
+    }
+
+    public Long getBaseVersionId() {
+        return baseVersionId;
+    }
+
+    public void setBaseVersionId(Long baseVersionId) {
+        this.baseVersionId = baseVersionId;
+    }
+
+    public int getChainDepth() {
+        return chainDepth;
+    }
+
+    public void setChainDepth(int chainDepth) {
+        this.chainDepth = chainDepth;
+    }
+
+    public boolean isSnapshot() {
+        return bodyDelta == null;
+    }
+
     public LocalDate getEntryDate() {
         return entryDate;
     }
@@ -0,0 +1,60 @@
+package com.journal.journalbackend.model;
+
+import jakarta.persistence.*;
+
+import java.io.Serializable;
+import java.util.Objects;
+
+// Live entries per user per month of the user's local calendar, maintained alongside entry writes
+@Entity
+@Table(name = "user_monthly_entry_counts")
+@IdClass(UserMonthlyEntryCount.Key.class)
+public class UserMonthlyEntryCount {
+    @Id
+    @Column(name = "user_id")
+    private Long userId;
+
+    @Id
+    @Column(name = "entry_month")
+    private Integer entryMonth; // yyyyMM
+
+    @Column(name = "entry_count", nullable = false)
+    private long entryCount;
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    public Integer getEntryMonth() {
+        return entryMonth;
+    }
+
+    public long getEntryCount() {
+        return entryCount;
+    }
+
+    public static class Key implements Serializable {
+        private Long userId;
+        private Integer entryMonth;
+
+        public Key() {}
+
+        public Key(Long userId, Integer entryMonth) {
+            this.userId = userId;
+            this.entryMonth = entryMonth;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) return true;
+            if (!(o instanceof Key)) return false;
+            Key key = (Key) o;
+            return Objects.equals(userId, key.userId) && Objects.equals(entryMonth, key.entryMonth);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(userId, entryMonth);
+        }
+    }
+}
@@ -0,0 +1,15 @@
+package com.journal.journalbackend.repository;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+
+// One anniversary hit: a verified user and an earlier date they wrote on
+public interface AnniversaryView {
+    Long getUserId();
+
+    String getEmail();
+
+    ZoneId getTimezone();
+
+    LocalDate getEntryDate();
+}
@@ -1,28 +1,71 @@
 package com.journal.journalbackend.repository;
 
 import com.journal.journalbackend.model.Entry;
-import org.springframework.data.domain.Page;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface EntryRepository extends JpaRepository<Entry, Long> {
     // Only non-deleted entries
-    List<Entry> findByJournalIdAndDeletedAtIsNull(Long journalId);
-    Page<Entry> findByJournalIdAndDeletedAtIsNull(Long journalId, Pageable pageable);
+    @EntityGraph(attributePaths = "tags")
     Optional<Entry> findByIdAndJournalIdAndDeletedAtIsNull(Long id, Long journalId);
     List<Entry> findByJournalIdAndEntryDateAndDeletedAtIsNull(Long journalId, LocalDate entryDate);
     boolean existsByIdAndJournalIdAndDeletedAtIsNull(Long id, Long journalId);
 
+    // Keyset pages ordered by (entryDate DESC, id DESC), served by idx_entry_journal_date_id.
+    // Tags are not fetch-joined here (that would paginate in memory); they arrive in one batch instead.
+    @Query("SELECT e FROM Entry e WHERE e.journal.id = :journalId AND e.deletedAt IS NULL " +
+            "ORDER BY e.entryDate DESC, e.id DESC")
+    List<Entry> findFirstPageByJournalId(@Param("journalId") Long journalId, Pageable pageable);
+
+    @Query("SELECT e FROM Entry e WHERE e.journal.id = :journalId AND e.deletedAt IS NULL " +
+            "AND (e.entryDate < :entryDate OR (e.entryDate = :entryDate AND e.id < :id)) " +
+            "ORDER BY e.entryDate DESC, e.id DESC")
+    List<Entry> findPageByJournalIdAfter(
+            @Param("journalId") Long journalId,
+            @Param("entryDate") LocalDate entryDate,
+            @Param("id") Long id,
+            Pageable pageable);
+
+    // Whole-journal export in (entryDate, id) order. With useCursorFetch the driver reads
+    // through a server-side cursor, so only one fetch window is held in memory at a time.
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "100"))
+    @Query("SELECT e FROM Entry e WHERE e.journal.id = :journalId AND e.deletedAt IS NULL " +
+            "ORDER BY e.entryDate, e.id")
+    Stream<Entry> streamByJournalId(@Param("journalId") Long journalId);
+
+    // Search index rebuild: live entries with their journal, in id order
+    @Query("SELECT e FROM Entry e JOIN FETCH e.journal WHERE e.deletedAt IS NULL AND e.id > :afterId ORDER BY e.id")
+    List<Entry> findIndexBatchAfter(@Param("afterId") Long afterId, Pageable pageable);
+
+    // Search index catch-up: entries changed since a point in time, deleted ones included, in change order
+    @Query("SELECT e FROM Entry e JOIN FETCH e.journal WHERE e.updatedAt > :afterUpdatedAt " +
+            "OR (e.updatedAt = :afterUpdatedAt AND e.id > :afterId) ORDER BY e.updatedAt, e.id")
+    List<Entry> findIndexChangesAfter(@Param("afterUpdatedAt") LocalDateTime afterUpdatedAt,
+                                      @Param("afterId") Long afterId, Pageable pageable);
+
+    // Search hits that still exist and are not deleted
+    @Query("SELECT e.id FROM Entry e WHERE e.id IN :ids AND e.deletedAt IS NULL")
+    List<Long> findLiveIdsIn(@Param("ids") Collection<Long> ids);
+
     // Include deleted entries (for admin/recycle bin views)
+    @EntityGraph(attributePaths = "tags")
     List<Entry> findByJournalIdAndDeletedAtIsNotNull(Long journalId);
     List<Entry> findByJournalIdAndEntryDate(Long journalId, LocalDate entryDate);
     boolean existsByIdAndJournalId(Long id, Long journalId);
@@ -37,8 +80,23 @@ public interface EntryRepository extends JpaRepository<Entry, Long> {
             @Param("end") LocalDateTime end
     );
 
-    @Query("SELECT DISTINCT e.entryDate FROM Entry e")
-    List<LocalDate> findDistinctEntryDates();
+    // Anniversaries for users whose local date is the given month/day: one row per (user, original date)
+    @Query("SELECT DISTINCT u.id AS userId, u.email AS email, u.timezone AS timezone, e.entryDate AS entryDate " +
+            "FROM Entry e JOIN e.journal j JOIN j.user u " +
+            "WHERE e.monthDay = :monthDay AND e.entryDate <= :latestDate AND e.deletedAt IS NULL " +
+            "AND u.isVerified = true AND u.timezone IN :zones AND MOD(u.id, :shardCount) = :shard")
+    List<AnniversaryView> findAnniversaries(
+            @Param("monthDay") int monthDay,
+            @Param("latestDate") LocalDate latestDate,
+            @Param("zones") Collection<ZoneId> zones,
+            @Param("shard") int shard,
+            @Param("shardCount") int shardCount);
+
+    // Backfill month_day for rows written before the column existed
+    @Modifying
+    @Query(value = "UPDATE entries SET month_day = MONTH(entry_date) * 100 + DAYOFMONTH(entry_date) " +
+            "WHERE month_day IS NULL LIMIT :batchSize", nativeQuery = true)
+    int backfillMonthDay(@Param("batchSize") int batchSize);
 
     // Find including soft-deleted entries
     @Query("SELECT e FROM Entry e WHERE e.id = :id AND e.journal.id = :journalId")
@@ -46,10 +104,36 @@ public interface EntryRepository extends JpaRepository<Entry, Long> {
             @Param("id") Long id,
             @Param("journalId") Long journalId);
 
-    // Find soft-deleted entries with no versions
-    @Query("SELECT e FROM Entry e WHERE e.deletedAt IS NOT NULL AND " +
-            "NOT EXISTS (SELECT v FROM EntryVersion v WHERE v.entry = e)")
-    List<Entry> findSoftDeletedWithNoVersions();
+    // Purge: soft-deleted entries with no versions left, one id range (fromId, toId] at a time
+    @Query(value = "SELECT COALESCE(MAX(id), 0) FROM entries", nativeQuery = true)
+    long findMaxId();
+
+    @Query(value = "SELECT COUNT(*) FROM entries e WHERE e.deleted_at IS NOT NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM entry_versions v WHERE v.entry_id = e.id)", nativeQuery = true)
+    long countOrphaned();
+
+    @Query(value = "SELECT m.filename FROM media m JOIN entries e ON e.id = m.entry_id " +
+            "WHERE e.id > :fromId AND e.id <= :toId AND e.deleted_at IS NOT NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM entry_versions v WHERE v.entry_id = e.id)", nativeQuery = true)
+    List<String> findOrphanedMediaFilenames(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Modifying
+    @Query(value = "DELETE et FROM entry_tags et JOIN entries e ON e.id = et.entry_id " +
+            "WHERE e.id > :fromId AND e.id <= :toId AND e.deleted_at IS NOT NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM entry_versions v WHERE v.entry_id = e.id)", nativeQuery = true)
+    int deleteOrphanedTagLinks(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Modifying
+    @Query(value = "DELETE m FROM media m JOIN entries e ON e.id = m.entry_id " +
+            "WHERE e.id > :fromId AND e.id <= :toId AND e.deleted_at IS NOT NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM entry_versions v WHERE v.entry_id = e.id)", nativeQuery = true)
+    int deleteOrphanedMedia(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Modifying
+    @Query(value = "DELETE e FROM entries e " +
+            "WHERE e.id > :fromId AND e.id <= :toId AND e.deleted_at IS NOT NULL " +
+            "AND NOT EXISTS (SELECT 1 FROM entry_versions v WHERE v.entry_id = e.id)", nativeQuery = true)
+    int deleteOrphaned(@Param("fromId") long fromId, @Param("toId") long toId);
 
 
 }
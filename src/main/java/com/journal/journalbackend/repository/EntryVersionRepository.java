@@ -1,18 +1,52 @@
 package com.journal.journalbackend.repository;
 
 import com.journal.journalbackend.model.EntryVersion;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 public interface EntryVersionRepository extends JpaRepository<EntryVersion, Long> {
     List<EntryVersion> findByEntryId(Long entryId);
 
-    @Query("SELECT v FROM EntryVersion v WHERE v.deletedAt IS NOT NULL AND v.deletedAt < :cutoff")
-    List<EntryVersion> findSoftDeletedBefore(LocalDateTime cutoff);
+    // Version history with tags loaded in the same statement
+    @EntityGraph(attributePaths = "tags")
+    List<EntryVersion> findWithTagsByEntryIdOrderByIdAsc(Long entryId);
+
+    @EntityGraph(attributePaths = "tags")
+    List<EntryVersion> findWithTagsByEntryIdInOrderByIdAsc(Collection<Long> entryIds);
 
     Optional<EntryVersion> findByIdAndEntryId(Long id, Long entryId);
+
+    // Purge: set-based statements over one id range (fromId, toId] of expired versions
+    @Query(value = "SELECT COALESCE(MAX(id), 0) FROM entry_versions", nativeQuery = true)
+    long findMaxId();
+
+    @Query(value = "SELECT COUNT(*) FROM entry_versions WHERE deleted_at < :cutoff", nativeQuery = true)
+    long countExpired(@Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query(value = "DELETE vt FROM entry_version_tags vt JOIN entry_versions v ON v.id = vt.entry_version_id " +
+            "WHERE v.id > :fromId AND v.id <= :toId AND v.deleted_at < :cutoff", nativeQuery = true)
+    int deleteExpiredTagLinks(@Param("fromId") long fromId, @Param("toId") long toId,
+                              @Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query(value = "UPDATE entries e JOIN entry_versions v ON v.id = e.current_version_id " +
+            "SET e.current_version_id = NULL " +
+            "WHERE v.id > :fromId AND v.id <= :toId AND v.deleted_at < :cutoff", nativeQuery = true)
+    int detachExpiredCurrentVersions(@Param("fromId") long fromId, @Param("toId") long toId,
+                                     @Param("cutoff") LocalDateTime cutoff);
+
+    @Modifying
+    @Query(value = "DELETE FROM entry_versions WHERE id > :fromId AND id <= :toId AND deleted_at < :cutoff",
+            nativeQuery = true)
+    int deleteExpired(@Param("fromId") long fromId, @Param("toId") long toId,
+                      @Param("cutoff") LocalDateTime cutoff);
 }
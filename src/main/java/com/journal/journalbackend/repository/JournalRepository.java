@@ -3,13 +3,19 @@ package com.journal.journalbackend.repository;
 import com.journal.journalbackend.model.Journal;
 import com.journal.journalbackend.model.User;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface JournalRepository extends JpaRepository<Journal, Long> {
     List<Journal> findByUserId(Long userId);
     boolean existsByIdAndUserId(Long id, Long userId);
     List<Journal> findByUser(User user);
+
+    @Query("SELECT j.user.id FROM Journal j WHERE j.id = :journalId")
+    Optional<Long> findOwnerIdById(@Param("journalId") Long journalId);
 }
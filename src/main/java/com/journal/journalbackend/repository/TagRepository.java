@@ -13,9 +13,10 @@ import java.util.List;
 public interface TagRepository extends JpaRepository<Tag, Long> {
     boolean existsByNameAndUserId(String name, Long userId);
     List<Tag> findByUserId(Long userId);
-    List<Tag> findByUserIdAndNameContainingIgnoreCase(Long userId, String nameQuery);
 
-    @Query("SELECT DISTINCT e FROM Entry e JOIN e.tags t WHERE t.id = :tagId")
+    // Fetch every tag of the matching entries too, so mapping them needs no further queries
+    @Query("SELECT DISTINCT e FROM Entry e LEFT JOIN FETCH e.tags " +
+            "WHERE e.id IN (SELECT te.id FROM Entry te JOIN te.tags t WHERE t.id = :tagId)")
     List<Entry> findEntriesByTagId(@Param("tagId") Long tagId);
 
 }
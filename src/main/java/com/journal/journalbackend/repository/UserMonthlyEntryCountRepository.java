@@ -0,0 +1,48 @@
+package com.journal.journalbackend.repository;
+
+import com.journal.journalbackend.model.UserMonthlyEntryCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface UserMonthlyEntryCountRepository
+        extends JpaRepository<UserMonthlyEntryCount, UserMonthlyEntryCount.Key> {
+
+    List<UserMonthlyEntryCount> findByUserIdInAndEntryMonth(Collection<Long> userIds, Integer entryMonth);
+
+    // Atomic +/- delta, creating the row on first use
+    @Modifying
+    @Query(value = "INSERT INTO user_monthly_entry_counts (user_id, entry_month, entry_count) " +
+            "VALUES (:userId, :entryMonth, GREATEST(:delta, 0)) " +
+            "ON DUPLICATE KEY UPDATE entry_count = GREATEST(entry_count + :delta, 0)", nativeQuery = true)
+    void addToCount(@Param("userId") long userId, @Param("entryMonth") int entryMonth, @Param("delta") int delta);
+
+    // Backfill: replace a user's row for one month with a recomputed count
+    @Modifying
+    @Query(value = "INSERT INTO user_monthly_entry_counts (user_id, entry_month, entry_count) " +
+            "VALUES (:userId, :entryMonth, :entryCount) " +
+            "ON DUPLICATE KEY UPDATE entry_count = VALUES(entry_count)", nativeQuery = true)
+    void setCount(@Param("userId") long userId, @Param("entryMonth") int entryMonth, @Param("entryCount") long entryCount);
+
+    @Modifying
+    @Query(value = "DELETE FROM user_monthly_entry_counts WHERE user_id > :fromId AND user_id <= :toId", nativeQuery = true)
+    int deleteForUsers(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    // Backfill: users of one id range with their zone, and their live entries' creation times.
+    // FOR SHARE holds off concurrent entry writes for these users until the chunk commits.
+    @Query(value = "SELECT id, timezone FROM users WHERE id > :fromId AND id <= :toId", nativeQuery = true)
+    List<Object[]> findUserZones(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Query(value = "SELECT j.user_id, e.created_at FROM entries e JOIN journals j ON j.id = e.journal_id " +
+            "WHERE j.user_id > :fromId AND j.user_id <= :toId AND e.deleted_at IS NULL FOR SHARE", nativeQuery = true)
+    List<Object[]> lockLiveEntryTimes(@Param("fromId") long fromId, @Param("toId") long toId);
+
+    @Query(value = "SELECT COALESCE(MAX(id), 0) FROM users", nativeQuery = true)
+    long findMaxUserId();
+}
@@ -1,9 +1,17 @@
 package com.journal.journalbackend.repository;
 
+import com.journal.journalbackend.messaging.ReminderRecipient;
 import com.journal.journalbackend.model.User;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.ZoneId;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -13,5 +21,26 @@ public interface UserRepository extends JpaRepository<User, Long> {
     Optional<User> findByEmail(String email);
     boolean existsByUsername(String username);
     boolean existsByEmail(String email);
-    List<User> findByIsVerifiedTrue();
+    // Keyset chunks of verified users in one shard of the given zones, only the columns reminders need
+    @Query("SELECT new com.journal.journalbackend.messaging.ReminderRecipient(u.id, u.email, u.timezone) " +
+            "FROM User u WHERE u.isVerified = true AND u.timezone IN :zones AND MOD(u.id, :shardCount) = :shard " +
+            "AND u.id > :afterId ORDER BY u.id")
+    List<ReminderRecipient> findVerifiedRecipientsInZonesAfter(
+            @Param("zones") Collection<ZoneId> zones,
+            @Param("shard") int shard,
+            @Param("shardCount") int shardCount,
+            @Param("afterId") long afterId,
+            Pageable pageable);
+
+    @Query("SELECT DISTINCT u.timezone FROM User u WHERE u.isVerified = true")
+    List<ZoneId> findVerifiedUserTimezones();
+
+    @Query("SELECT u.timezone FROM User u WHERE u.id = :id")
+    ZoneId findTimezoneById(@Param("id") Long id);
+
+    // Compare-and-set, so a rehash on login never overwrites a password changed in the meantime
+    @Transactional
+    @Modifying
+    @Query("UPDATE User u SET u.passwordHash = :newHash WHERE u.id = :id AND u.passwordHash = :oldHash")
+    int updatePasswordHash(@Param("id") Long id, @Param("oldHash") String oldHash, @Param("newHash") String newHash);
 }
\ No newline at end of file
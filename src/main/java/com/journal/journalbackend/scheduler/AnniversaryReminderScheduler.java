@@ -1,61 +1,56 @@
 package com.journal.journalbackend.scheduler;
 
-import com.journal.journalbackend.messaging.producer.ReminderProducer;
-import com.journal.journalbackend.model.User;
+import com.journal.journalbackend.messaging.ReminderRecipient;
+import com.journal.journalbackend.repository.AnniversaryView;
 import com.journal.journalbackend.service.EntryService;
-import com.journal.journalbackend.service.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.LocalDate;
 import java.time.ZoneId;
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
 import java.time.temporal.ChronoUnit;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 @Component
 public class AnniversaryReminderScheduler {
 
     private static final Logger logger = LoggerFactory.getLogger(AnniversaryReminderScheduler.class);
-    private final UserService userService;
     private final EntryService entryService;
-    private final ReminderProducer reminderProducer;
+    private final JobEngine jobEngine;
 
-    public AnniversaryReminderScheduler(UserService userService, EntryService entryService, ReminderProducer reminderProducer) {
-        this.userService = userService;
+    public AnniversaryReminderScheduler(EntryService entryService, JobEngine jobEngine) {
         this.entryService = entryService;
-        this.reminderProducer = reminderProducer;
+        this.jobEngine = jobEngine;
     }
 
-    @Scheduled(cron = "0 0 9 * * ?") // Runs every day at 9:00 AM UTC
-    /* @Scheduled(cron = "0/30 * * * * ?") /*Tests trigger method every 30 seconds*/
-    public void triggerAnniversaryReminders() {
-        logger.info("Checking for journal anniversaries...");
-
-        List<User> users = userService.getAllVerifiedUsers();
-
-        users.parallelStream().forEach(user -> {
-            try {
-                ZoneId userZone = user.getTimezone();
-                ZonedDateTime nowUserTime = ZonedDateTime.now(ZoneOffset.UTC).withZoneSameInstant(userZone);
-                LocalDate todayDate = nowUserTime.toLocalDate();
-
-                List<LocalDate> pastEntryDates = entryService.getDistinctEntryDates();
-
-                pastEntryDates.forEach(entryDate -> {
-                    long yearsAgo = ChronoUnit.YEARS.between(entryDate, todayDate);
-                    if (yearsAgo >= 1 && entryDate.getMonthValue() == todayDate.getMonthValue() && entryDate.getDayOfMonth() == todayDate.getDayOfMonth()) {
-                        reminderProducer.sendAnniversaryReminder(user, yearsAgo, entryDate);
-                    }
-                });
-
-            } catch (Exception e) {
-                logger.error("Error sending anniversary reminders for user {}: {}", user.getId(), e.getMessage());
+    // Invoked by ReminderShardJob for one shard of an hourly dispatch; reminders go into the shard's digest
+    public void triggerAnniversaryReminders(ReminderShard shard, ReminderDigest digest) {
+        logger.info("Checking for journal anniversaries ({})...", shard);
+
+        // This run's zones fall on at most a couple of local dates, one lookup per date covers them all
+        Map<LocalDate, List<ZoneId>> zonesByLocalDate = shard.getZones().stream()
+                .collect(Collectors.groupingBy(zone -> LocalDate.ofInstant(shard.getDispatchTime(), zone)));
+
+        JobRun run = jobEngine.start("anniversary-reminders-" + shard.getIndex());
+        zonesByLocalDate.forEach((todayDate, zones) -> run.submit(() -> {
+            List<AnniversaryView> anniversaries = entryService.getAnniversaries(
+                    todayDate, zones, shard.getIndex(), shard.getCount());
+
+            for (AnniversaryView anniversary : anniversaries) {
+                try {
+                    long yearsAgo = ChronoUnit.YEARS.between(anniversary.getEntryDate(), todayDate);
+                    ReminderRecipient recipient = new ReminderRecipient(
+                            anniversary.getUserId(), anniversary.getEmail(), anniversary.getTimezone());
+                    digest.addAnniversary(recipient, yearsAgo, anniversary.getEntryDate());
+                } catch (Exception e) {
+                    logger.error("Error collecting anniversary reminder for user {}: {}", anniversary.getUserId(), e.getMessage());
+                }
             }
-        });
+            logger.info("Collected {} anniversary reminders for {}", anniversaries.size(), todayDate);
+        }));
+        run.awaitCompletion();
     }
 }
-
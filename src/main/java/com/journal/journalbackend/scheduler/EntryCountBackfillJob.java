@@ -0,0 +1,21 @@
+package com.journal.journalbackend.scheduler;
+
+import com.journal.journalbackend.service.EntryCountBackfillService;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.JobExecutionContext;
+import org.springframework.scheduling.quartz.QuartzJobBean;
+
+// Fired once at startup on one node; a no-op after the backfill has completed
+@DisallowConcurrentExecution
+public class EntryCountBackfillJob extends QuartzJobBean {
+    private final EntryCountBackfillService entryCountBackfillService;
+
+    public EntryCountBackfillJob(EntryCountBackfillService entryCountBackfillService) {
+        this.entryCountBackfillService = entryCountBackfillService;
+    }
+
+    @Override
+    protected void executeInternal(JobExecutionContext context) {
+        entryCountBackfillService.backfill();
+    }
+}
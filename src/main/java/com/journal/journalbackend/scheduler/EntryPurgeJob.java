@@ -0,0 +1,21 @@
+package com.journal.journalbackend.scheduler;
+
+import com.journal.journalbackend.service.EntryPurgeService;
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.JobExecutionContext;
+import org.springframework.scheduling.quartz.QuartzJobBean;
+
+// Clustered purge: the JDBC job store fires it on one node only, and never overlapping itself
+@DisallowConcurrentExecution
+public class EntryPurgeJob extends QuartzJobBean {
+    private final EntryPurgeService entryPurgeService;
+
+    public EntryPurgeJob(EntryPurgeService entryPurgeService) {
+        this.entryPurgeService = entryPurgeService;
+    }
+
+    @Override
+    protected void executeInternal(JobExecutionContext context) {
+        entryPurgeService.purge();
+    }
+}
@@ -0,0 +1,72 @@
+package com.journal.journalbackend.scheduler;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.jvm.ExecutorServiceMetrics;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Dedicated, bounded worker pool for scheduler fan-out (database lookups and broker publishes).
+ * Concurrency is capped below the connection pool size and in-flight tasks are bounded,
+ * so a large reminder run neither starves other work nor piles up an unbounded backlog.
+ */
+@Component
+public class JobEngine {
+    private final ExecutorService executor;
+    private final Semaphore inFlightPermits;
+    private final Map<String, JobRun> runs = new ConcurrentHashMap<>();
+
+    public JobEngine(MeterRegistry meterRegistry,
+                     @Value("${app.scheduler.engine.concurrency:4}") int concurrency,
+                     @Value("${app.scheduler.engine.max-in-flight:64}") int maxInFlight) {
+        int threads = Math.max(concurrency, 1);
+        AtomicInteger threadNumber = new AtomicInteger();
+        ThreadPoolExecutor pool = new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(), runnable -> {
+                    Thread thread = new Thread(runnable, "scheduler-worker-" + threadNumber.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        // The queue never grows past the permit count, the semaphore is what bounds it
+        this.executor = ExecutorServiceMetrics.monitor(meterRegistry, pool, "scheduler-engine");
+        this.inFlightPermits = new Semaphore(Math.max(maxInFlight, threads));
+    }
+
+    // Start a new run of the job; it replaces the previous run in the progress view
+    public JobRun start(String jobName) {
+        JobRun run = new JobRun(jobName, executor, inFlightPermits);
+        runs.put(jobName, run);
+        return run;
+    }
+
+    public Collection<JobRun> getRuns() {
+        return runs.values();
+    }
+
+    public boolean cancel(String jobName) {
+        JobRun run = runs.get(jobName);
+        if (run == null || !run.isRunning()) {
+            return false;
+        }
+        run.cancel();
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        runs.values().forEach(JobRun::cancel);
+        executor.shutdown();
+        executor.awaitTermination(30, TimeUnit.SECONDS);
+    }
+}
@@ -0,0 +1,44 @@
+package com.journal.journalbackend.scheduler;
+
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// Progress of scheduler job runs at /actuator/schedulerjobs; DELETE /actuator/schedulerjobs/{job} cancels a run
+@Component
+@Endpoint(id = "schedulerjobs")
+public class JobEngineEndpoint {
+    private final JobEngine jobEngine;
+
+    public JobEngineEndpoint(JobEngine jobEngine) {
+        this.jobEngine = jobEngine;
+    }
+
+    @ReadOperation
+    public Map<String, Map<String, Object>> runs() {
+        Map<String, Map<String, Object>> result = new LinkedHashMap<>();
+        for (JobRun run : jobEngine.getRuns()) {
+            Map<String, Object> progress = new LinkedHashMap<>();
+            progress.put("running", run.isRunning());
+            progress.put("cancelled", run.isCancelled());
+            progress.put("startedAt", run.getStartedAt());
+            progress.put("finishedAt", run.getFinishedAt());
+            progress.put("submitted", run.getSubmitted());
+            progress.put("completed", run.getCompleted());
+            progress.put("failed", run.getFailed());
+            progress.put("skipped", run.getSkipped());
+            result.put(run.getJobName(), progress);
+        }
+        return result;
+    }
+
+    @DeleteOperation
+    public Map<String, Object> cancel(@Selector String job) {
+        return Map.of("job", job, "cancelled", jobEngine.cancel(job));
+    }
+}
@@ -0,0 +1,147 @@
+package com.journal.journalbackend.scheduler;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * One run of a scheduled job on the {@link JobEngine}: submits tasks, tracks progress and can be cancelled.
+ * Cancelling stops further submissions and skips tasks that have not started yet.
+ */
+public class JobRun {
+    private static final Logger logger = LoggerFactory.getLogger(JobRun.class);
+
+    private final String jobName;
+    private final Executor executor;
+    private final Semaphore inFlightPermits;
+    private final Instant startedAt = Instant.now();
+    private volatile Instant finishedAt;
+    private volatile boolean cancelled;
+
+    private final AtomicLong submitted = new AtomicLong();
+    private final AtomicLong completed = new AtomicLong();
+    private final AtomicLong failed = new AtomicLong();
+    private final AtomicLong skipped = new AtomicLong();
+    private long pending; // guarded by this
+
+    JobRun(String jobName, Executor executor, Semaphore inFlightPermits) {
+        this.jobName = jobName;
+        this.executor = executor;
+        this.inFlightPermits = inFlightPermits;
+    }
+
+    // Blocks while the engine is saturated, which throttles the producer to what the workers can absorb
+    public boolean submit(Runnable task) {
+        if (cancelled) {
+            return false;
+        }
+        try {
+            inFlightPermits.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel();
+            return false;
+        }
+
+        synchronized (this) {
+            pending++;
+        }
+        submitted.incrementAndGet();
+        try {
+            executor.execute(() -> runTask(task));
+        } catch (RejectedExecutionException e) {
+            failed.incrementAndGet();
+            taskFinished();
+            throw e;
+        }
+        return true;
+    }
+
+    // Wait for every submitted task to finish, then mark the run as done
+    public void awaitCompletion() {
+        try {
+            synchronized (this) {
+                while (pending > 0) {
+                    wait();
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            cancel();
+        } finally {
+            finishedAt = Instant.now();
+            logger.info("Job {} finished: {} completed, {} failed, {} skipped{}", jobName,
+                    completed.get(), failed.get(), skipped.get(), cancelled ? " (cancelled)" : "");
+        }
+    }
+
+    public void cancel() {
+        cancelled = true;
+    }
+
+    private void runTask(Runnable task) {
+        try {
+            if (cancelled) {
+                skipped.incrementAndGet();
+                return;
+            }
+            task.run();
+            completed.incrementAndGet();
+        } catch (RuntimeException e) {
+            failed.incrementAndGet();
+            logger.error("Task of job {} failed: {}", jobName, e.getMessage());
+        } finally {
+            taskFinished();
+        }
+    }
+
+    private void taskFinished() {
+        inFlightPermits.release();
+        synchronized (this) {
+            if (--pending == 0) {
+                notifyAll();
+            }
+        }
+    }
+
+    public String getJobName() {
+        return jobName;
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    public boolean isRunning() {
+        return finishedAt == null;
+    }
+
+    public Instant getStartedAt() {
+        return startedAt;
+    }
+
+    public Instant getFinishedAt() {
+        return finishedAt;
+    }
+
+    public long getSubmitted() {
+        return submitted.get();
+    }
+
+    public long getCompleted() {
+        return completed.get();
+    }
+
+    public long getFailed() {
+        return failed.get();
+    }
+
+    public long getSkipped() {
+        return skipped.get();
+    }
+}
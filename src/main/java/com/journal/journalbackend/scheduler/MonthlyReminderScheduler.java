@@ -1,67 +1,106 @@
 package com.journal.journalbackend.scheduler;
 
-import com.journal.journalbackend.messaging.producer.ReminderProducer;
-import com.journal.journalbackend.model.User;
+import com.journal.journalbackend.messaging.ReminderRecipient;
+import com.journal.journalbackend.service.EntryCountRollup;
 import com.journal.journalbackend.service.EntryService;
 import com.journal.journalbackend.service.UserService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
 import java.time.*;
 import java.util.List;
+import java.util.Map;
 
 @Component
 public class MonthlyReminderScheduler {
     private static final Logger logger = LoggerFactory.getLogger(MonthlyReminderScheduler.class);
     private UserService userService;
     private EntryService entryService;
-    private ReminderProducer reminderProducer;
+    private JobEngine jobEngine;
+    private EntryCountRollup entryCountRollup;
 
-    public MonthlyReminderScheduler(UserService userService, EntryService entryService, ReminderProducer reminderProducer) {
+    public MonthlyReminderScheduler(UserService userService, EntryService entryService,
+                                    JobEngine jobEngine, EntryCountRollup entryCountRollup) {
         this.userService = userService;
         this.entryService = entryService;
-        this.reminderProducer = reminderProducer;
+        this.jobEngine = jobEngine;
+        this.entryCountRollup = entryCountRollup;
     }
 
 
-    @Scheduled(cron = "0 0 9 1 * ?") // Runs at 9:00 AM UTC on the 1st of every month
-    public void triggerMonthlyReflections() {
-        logger.info("Starting monthly reflection reminders");
-
-        List<User> verifiedUsers = userService.getAllVerifiedUsers();
+    // Invoked by ReminderShardJob for one shard of an hourly dispatch; only zones on the 1st of their month.
+    // Reminders go into the shard's digest.
+    public void triggerMonthlyReflections(ReminderShard shard, ReminderDigest digest) {
+        JobRun run = jobEngine.start("monthly-reminders-" + shard.getIndex());
+        // Until the rollup has been backfilled, older months are only correct when counted from entries
+        boolean useRollup = entryCountRollup.isBackfilled();
+        for (ZoneId userZone : shard.getZones()) {
+            ZonedDateTime nowInUserZone = ZonedDateTime.ofInstant(shard.getDispatchTime(), userZone);
+            if (nowInUserZone.getDayOfMonth() != 1) {
+                continue;
+            }
+            logger.info("Starting monthly reflection reminders for zone {} ({})", userZone, shard);
 
-        verifiedUsers.parallelStream().forEach(user -> {
-            try {
-                ZoneId userZone = user.getTimezone();
-                ZonedDateTime nowInUserZone = ZonedDateTime.now(ZoneOffset.UTC).withZoneSameInstant(userZone);
+            // Get first and last moment of previous month in the zone, once for all of its users
+            YearMonth prevYearMonth = YearMonth.from(nowInUserZone.minusMonths(1));
+            ZonedDateTime start = prevYearMonth.atDay(1).atStartOfDay(userZone);
+            ZonedDateTime end = prevYearMonth.atEndOfMonth()
+                    .atTime(23, 59, 59, 999999999)
+                    .atZone(userZone);
 
-                // Get first and last moment of previous month in user's timezone
-                YearMonth prevYearMonth = YearMonth.from(nowInUserZone.minusMonths(1));
-                ZonedDateTime start = prevYearMonth.atDay(1).atStartOfDay(userZone);
-                ZonedDateTime end = prevYearMonth.atEndOfMonth()
-                        .atTime(23, 59, 59, 999999999)
-                        .atZone(userZone);
+            // Convert to UTC for database query
+            LocalDateTime startUtc = start.withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+            LocalDateTime endUtc = end.withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
 
-                // Convert to UTC for database query
-                LocalDateTime startUtc = start.withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
-                LocalDateTime endUtc = end.withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+            // Convert YearMonth to LocalDate for message
+            LocalDate monthYearDate = prevYearMonth.atDay(1);
 
-                long entryCount = entryService.getEntryCountForUserBetweenDates(
-                        user.getId(),
-                        startUtc,
-                        endUtc
-                );
+            // Walk the zone's users a chunk at a time, holding only id, email and zone
+            for (List<ReminderRecipient> chunk : userService.getVerifiedRecipientsInTimezones(
+                    List.of(userZone), shard.getIndex(), shard.getCount())) {
+                if (run.isCancelled()) {
+                    break;
+                }
+                if (useRollup) {
+                    // One indexed lookup per chunk instead of a count query per user
+                    run.submit(() -> collectFromRollup(chunk, prevYearMonth, monthYearDate, digest));
+                    continue;
+                }
+                for (ReminderRecipient recipient : chunk) {
+                    // Blocks while the engine is saturated, so chunks are only read as fast as they are processed
+                    run.submit(() -> {
+                        try {
+                            long entryCount = entryService.getEntryCountForUserBetweenDates(
+                                    recipient.getUserId(),
+                                    startUtc,
+                                    endUtc
+                            );
 
-                if (entryCount > 0) {
-                    // Convert YearMonth to LocalDate for message
-                    LocalDate monthYearDate = prevYearMonth.atDay(1);
-                    reminderProducer.sendMonthlyReminder(user, entryCount, monthYearDate);
+                            if (entryCount > 0) {
+                                digest.addMonthly(recipient, entryCount, monthYearDate);
+                            }
+                        } catch (Exception e) {
+                            logger.error("Error processing user {}: {}", recipient.getUserId(), e.getMessage());
+                        }
+                    });
                 }
-            } catch (Exception e) {
-                logger.error("Error processing user {}: {}", user.getId(), e.getMessage());
             }
-        });
+        }
+        run.awaitCompletion();
+    }
+
+    // Helper method: read a chunk's counts for the month from the rollup and remind users who wrote anything
+    private void collectFromRollup(List<ReminderRecipient> chunk, YearMonth month, LocalDate monthYearDate,
+                                   ReminderDigest digest) {
+        Map<Long, Long> counts = entryCountRollup.getCounts(
+                chunk.stream().map(ReminderRecipient::getUserId).toList(), month);
+        for (ReminderRecipient recipient : chunk) {
+            long entryCount = counts.getOrDefault(recipient.getUserId(), 0L);
+            if (entryCount <= 0) {
+                continue;
+            }
+            digest.addMonthly(recipient, entryCount, monthYearDate);
+        }
     }
 }
@@ -0,0 +1,46 @@
+package com.journal.journalbackend.scheduler;
+
+import com.journal.journalbackend.messaging.ReminderDigestMessage;
+import com.journal.journalbackend.messaging.ReminderRecipient;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Collects the reminders of one shard run per user, so each user gets one digest message
+ * instead of one message per anniversary, memory lane month and monthly summary.
+ * Schedulers add from engine worker threads; each user's digest is only touched inside compute.
+ */
+public class ReminderDigest {
+    private final Map<Long, ReminderDigestMessage> digests = new ConcurrentHashMap<>();
+
+    public void addAnniversary(ReminderRecipient recipient, long yearsAgo, LocalDate entryDate) {
+        digests.compute(recipient.getUserId(), (userId, digest) -> {
+            digest = digest != null ? digest : new ReminderDigestMessage(recipient);
+            digest.getAnniversaries().add(new ReminderDigestMessage.Anniversary(entryDate, yearsAgo));
+            return digest;
+        });
+    }
+
+    public void addMemoryLane(ReminderRecipient recipient, long entryCount, LocalDate date) {
+        digests.compute(recipient.getUserId(), (userId, digest) -> {
+            digest = digest != null ? digest : new ReminderDigestMessage(recipient);
+            digest.getMemoryLane().add(new ReminderDigestMessage.MemoryLane(date, entryCount));
+            return digest;
+        });
+    }
+
+    public void addMonthly(ReminderRecipient recipient, long entryCount, LocalDate monthYear) {
+        digests.compute(recipient.getUserId(), (userId, digest) -> {
+            digest = digest != null ? digest : new ReminderDigestMessage(recipient);
+            digest.setMonthly(new ReminderDigestMessage.Monthly(monthYear, entryCount));
+            return digest;
+        });
+    }
+
+    public Collection<ReminderDigestMessage> getDigests() {
+        return digests.values();
+    }
+}
@@ -0,0 +1,74 @@
+package com.journal.journalbackend.scheduler;
+
+import org.quartz.DisallowConcurrentExecution;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobExecutionException;
+import org.quartz.ObjectAlreadyExistsException;
+import org.quartz.Scheduler;
+import org.quartz.SchedulerException;
+import org.quartz.SimpleScheduleBuilder;
+import org.quartz.Trigger;
+import org.quartz.TriggerBuilder;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.quartz.QuartzJobBean;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Hourly dispatcher: fires on one node of the cluster, picks the zones at their reminder hour
+ * and schedules one {@link ReminderShardJob} trigger per user shard. Idle nodes claim the shard
+ * triggers from the shared job store, so reminder throughput grows with the number of replicas.
+ */
+@DisallowConcurrentExecution
+public class ReminderDispatchJob extends QuartzJobBean {
+    private static final Logger logger = LoggerFactory.getLogger(ReminderDispatchJob.class);
+    private static final String SHARD_TRIGGER_GROUP = "reminder-shards";
+
+    private final ReminderZoneSelector reminderZoneSelector;
+    private final int shardCount;
+
+    public ReminderDispatchJob(ReminderZoneSelector reminderZoneSelector,
+                               @Value("${app.reminders.shard-count:8}") int shardCount) {
+        this.reminderZoneSelector = reminderZoneSelector;
+        this.shardCount = Math.max(shardCount, 1);
+    }
+
+    @Override
+    protected void executeInternal(JobExecutionContext context) throws JobExecutionException {
+        // Use the scheduled time, not the clock, so a late firing still targets the right zones
+        Instant dispatchTime = context.getScheduledFireTime().toInstant();
+        List<ZoneId> zones = reminderZoneSelector.zonesAtReminderHour(dispatchTime);
+        if (zones.isEmpty()) {
+            return;
+        }
+
+        String zoneIds = zones.stream().map(ZoneId::getId).collect(Collectors.joining(","));
+        Scheduler scheduler = context.getScheduler();
+        for (int shard = 0; shard < shardCount; shard++) {
+            Trigger trigger = TriggerBuilder.newTrigger()
+                    // Named after the dispatch time, so a re-fired dispatch cannot schedule a shard twice
+                    .withIdentity("reminders-" + dispatchTime.toEpochMilli() + "-" + shard, SHARD_TRIGGER_GROUP)
+                    .forJob(ReminderShardJob.JOB_KEY)
+                    .usingJobData(ReminderShardJob.DISPATCH_TIME, dispatchTime.toEpochMilli())
+                    .usingJobData(ReminderShardJob.ZONES, zoneIds)
+                    .usingJobData(ReminderShardJob.SHARD, shard)
+                    .usingJobData(ReminderShardJob.SHARD_COUNT, shardCount)
+                    .startNow()
+                    .withSchedule(SimpleScheduleBuilder.simpleSchedule().withMisfireHandlingInstructionFireNow())
+                    .build();
+            try {
+                scheduler.scheduleJob(trigger);
+            } catch (ObjectAlreadyExistsException e) {
+                logger.debug("Reminder shard {} for {} already scheduled", shard, dispatchTime);
+            } catch (SchedulerException e) {
+                throw new JobExecutionException("Could not schedule reminder shard " + shard, e);
+            }
+        }
+        logger.info("Dispatched {} reminder shards for {} zones", shardCount, zones.size());
+    }
+}
@@ -0,0 +1,36 @@
+package com.journal.journalbackend.scheduler;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+
+/**
+ * One slice of an hourly reminder dispatch: the zones at their reminder hour as of the dispatch time,
+ * restricted to users with {@code MOD(user id, count) = index}.
+ */
+public class ReminderShard {
+    private final Instant dispatchTime;
+    private final List<ZoneId> zones;
+    private final int index;
+    private final int count;
+
+    public ReminderShard(Instant dispatchTime, List<ZoneId> zones, int index, int count) {
+        this.dispatchTime = dispatchTime;
+        this.zones = zones;
+        this.index = index;
+        this.count = count;
+    }
+
+    public Instant getDispatchTime() { return dispatchTime; }
+
+    public List<ZoneId> getZones() { return zones; }
+
+    public int getIndex() { return index; }
+
+    public int getCount() { return count; }
+
+    @Override
+    public String toString() {
+        return "shard " + index + "/" + count;
+    }
+}
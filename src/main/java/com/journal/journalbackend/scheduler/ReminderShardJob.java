@@ -0,0 +1,73 @@
+package com.journal.journalbackend.scheduler;
+
+import com.journal.journalbackend.messaging.producer.ReminderProducer;
+import org.quartz.JobDataMap;
+import org.quartz.JobExecutionContext;
+import org.quartz.JobKey;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.scheduling.quartz.QuartzJobBean;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+// Sends every reminder type for one user shard of an hourly dispatch; shards run in parallel across nodes
+public class ReminderShardJob extends QuartzJobBean {
+    private static final Logger logger = LoggerFactory.getLogger(ReminderShardJob.class);
+
+    public static final JobKey JOB_KEY = JobKey.jobKey("reminder-shard");
+    static final String DISPATCH_TIME = "dispatchTime";
+    static final String ZONES = "zones";
+    static final String SHARD = "shard";
+    static final String SHARD_COUNT = "shardCount";
+
+    private final AnniversaryReminderScheduler anniversaryReminderScheduler;
+    private final ThisDayReminderScheduler thisDayReminderScheduler;
+    private final MonthlyReminderScheduler monthlyReminderScheduler;
+    private final ReminderProducer reminderProducer;
+
+    public ReminderShardJob(AnniversaryReminderScheduler anniversaryReminderScheduler,
+                            ThisDayReminderScheduler thisDayReminderScheduler,
+                            MonthlyReminderScheduler monthlyReminderScheduler,
+                            ReminderProducer reminderProducer) {
+        this.anniversaryReminderScheduler = anniversaryReminderScheduler;
+        this.thisDayReminderScheduler = thisDayReminderScheduler;
+        this.monthlyReminderScheduler = monthlyReminderScheduler;
+        this.reminderProducer = reminderProducer;
+    }
+
+    @Override
+    protected void executeInternal(JobExecutionContext context) {
+        JobDataMap data = context.getMergedJobDataMap();
+        List<ZoneId> zones = Arrays.stream(data.getString(ZONES).split(","))
+                .map(ZoneId::of)
+                .collect(Collectors.toList());
+        ReminderShard shard = new ReminderShard(
+                Instant.ofEpochMilli(data.getLong(DISPATCH_TIME)), zones, data.getInt(SHARD), data.getInt(SHARD_COUNT));
+
+        // Reminder types are independent, one failing must not hold back the others
+        ReminderDigest digest = new ReminderDigest();
+        run("anniversary", shard, () -> anniversaryReminderScheduler.triggerAnniversaryReminders(shard, digest));
+        run("memory lane", shard, () -> thisDayReminderScheduler.triggerMemoryLaneReminders(shard, digest));
+        run("monthly", shard, () -> monthlyReminderScheduler.triggerMonthlyReflections(shard, digest));
+
+        // One message and one email per user, whatever mix of reminders they are due
+        run("digest", shard, () -> reminderProducer.sendDigests(digest.getDigests()));
+
+        // The shard only counts as done once the broker has confirmed its reminders
+        if (!reminderProducer.flush()) {
+            logger.warn("Reminders for {} were not all confirmed before the flush timeout", shard);
+        }
+    }
+
+    private void run(String reminderType, ReminderShard shard, Runnable reminders) {
+        try {
+            reminders.run();
+        } catch (RuntimeException e) {
+            logger.error("Error sending {} reminders for {}: {}", reminderType, shard, e.getMessage());
+        }
+    }
+}
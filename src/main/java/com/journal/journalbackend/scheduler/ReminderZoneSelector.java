@@ -0,0 +1,34 @@
+package com.journal.journalbackend.scheduler;
+
+import com.journal.journalbackend.service.UserService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.time.ZoneId;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Picks the time zones whose local clock is at the reminder hour at a given instant.
+ * Reminders are dispatched hourly and only handle these zones, so every user is reached once a day
+ * at their own local time and the load is spread over 24 smaller runs.
+ */
+@Component
+public class ReminderZoneSelector {
+    private final UserService userService;
+    private final int localHour;
+
+    public ReminderZoneSelector(UserService userService,
+                                @Value("${app.reminders.local-hour:9}") int localHour) {
+        this.userService = userService;
+        this.localHour = localHour;
+    }
+
+    // Zone rules are evaluated once per distinct zone in use, not once per user
+    public List<ZoneId> zonesAtReminderHour(Instant at) {
+        return userService.getVerifiedUserTimezones().stream()
+                .filter(zone -> at.atZone(zone).getHour() == localHour)
+                .collect(Collectors.toList());
+    }
+}
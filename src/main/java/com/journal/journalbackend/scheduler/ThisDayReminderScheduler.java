@@ -1,67 +1,59 @@
 package com.journal.journalbackend.scheduler;
 
-import com.journal.journalbackend.messaging.producer.ReminderProducer;
-import com.journal.journalbackend.model.User;
-import com.journal.journalbackend.service.EntryService;
-import com.journal.journalbackend.service.UserService;
+import com.journal.journalbackend.service.MemoryLaneCounts;
+import com.journal.journalbackend.service.ReminderQueryService;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
-import java.time.LocalDateTime;
+import java.time.LocalDate;
 import java.time.ZoneId;
-import java.time.ZoneOffset;
-import java.time.ZonedDateTime;
-import java.util.List;
+import java.util.Map;
 
 @Component
 public class ThisDayReminderScheduler {
     private static final Logger logger = LoggerFactory.getLogger(ThisDayReminderScheduler.class);
-    private final UserService userService;
-    private final EntryService entryService;
-    private final ReminderProducer reminderProducer;
+    private final ReminderQueryService reminderQueryService;
+    private final JobEngine jobEngine;
 
-    public ThisDayReminderScheduler(UserService userService, EntryService entryService, ReminderProducer reminderProducer) {
-        this.userService = userService;
-        this.entryService = entryService;
-        this.reminderProducer = reminderProducer;
+    public ThisDayReminderScheduler(ReminderQueryService reminderQueryService, JobEngine jobEngine) {
+        this.reminderQueryService = reminderQueryService;
+        this.jobEngine = jobEngine;
     }
 
-    @Scheduled(cron = "0 0 9 * * ?") // Runs every day at 9:00 AM UTC
-    /*@Scheduled(cron = "0/30 * * * * ?")*/
-    public void triggerMemoryLaneReminders() {
-        logger.info("Starting 'Memory Lane' daily reminders");
-
-        List<User> verifiedUsers = userService.getAllVerifiedUsers();
-
-        verifiedUsers.parallelStream().forEach(user -> {
-            try {
-                ZoneId userZone = user.getTimezone();
-                ZonedDateTime todayUserZone = ZonedDateTime.now(ZoneOffset.UTC).withZoneSameInstant(userZone);
-                int day = todayUserZone.getDayOfMonth();
-
-                for (int i = 1; i <= 11; i++) {
-                    ZonedDateTime targetDate = todayUserZone.minusMonths(i);
-
-                    if (day <= targetDate.toLocalDate().lengthOfMonth()) {
-                        ZonedDateTime start = targetDate.withDayOfMonth(day).toLocalDate().atStartOfDay(userZone);
-                        ZonedDateTime end = start.plusDays(1).minusNanos(1);
-
-                        LocalDateTime startUtc = start.withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
-                        LocalDateTime endUtc = end.withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
-
-                        long entryCount = entryService.getEntryCountForUserBetweenDates(user.getId(), startUtc, endUtc);
+    // Invoked by ReminderShardJob for one shard of an hourly dispatch; reminders go into the shard's digest
+    public void triggerMemoryLaneReminders(ReminderShard shard, ReminderDigest digest) {
+        logger.info("Starting 'Memory Lane' daily reminders ({})", shard);
+
+        // One grouped query per time zone instead of eleven count queries per user
+        JobRun run = jobEngine.start("memory-lane-reminders-" + shard.getIndex());
+        for (ZoneId zone : shard.getZones()) {
+            run.submit(() -> {
+                try {
+                    MemoryLaneCounts counts = reminderQueryService.countMemoryLaneEntries(
+                            zone, LocalDate.ofInstant(shard.getDispatchTime(), zone), shard.getIndex(), shard.getCount());
+                    collect(counts, digest);
+                } catch (Exception e) {
+                    logger.error("Error processing memory lane reminders for zone {}: {}", zone, e.getMessage());
+                }
+            });
+        }
+        run.awaitCompletion();
+    }
 
-                        if (entryCount > 0) {
-                            reminderProducer.sendMemoryLaneReminder(user, entryCount, start.toLocalDate());
-                        }
+    private void collect(MemoryLaneCounts counts, ReminderDigest digest) {
+        for (Map.Entry<Long, long[]> userCounts : counts.getCounts().entrySet()) {
+            long[] byMonthsAgo = userCounts.getValue();
+            for (int monthsAgo = 1; monthsAgo <= MemoryLaneCounts.MAX_MONTHS_AGO; monthsAgo++) {
+                if (byMonthsAgo[monthsAgo] > 0) {
+                    try {
+                        digest.addMemoryLane(counts.getRecipients().get(userCounts.getKey()),
+                                byMonthsAgo[monthsAgo], counts.getDate(monthsAgo));
+                    } catch (Exception e) {
+                        logger.error("Error collecting memory lane reminder for user {}: {}", userCounts.getKey(), e.getMessage());
                     }
                 }
-            } catch (Exception e) {
-                logger.error("Error processing memory lane reminder for user {}: {}", user.getId(), e.getMessage());
             }
-        });
+        }
     }
 }
-
@@ -0,0 +1,29 @@
+package com.journal.journalbackend.security;
+
+import java.io.Serializable;
+import java.security.Principal;
+
+// Request principal built from the JWT claims, so services get the caller's id without a username lookup
+public class AuthenticatedUser implements Principal, Serializable {
+    private final Long userId;
+    private final String username;
+
+    public AuthenticatedUser(Long userId, String username) {
+        this.userId = userId;
+        this.username = username;
+    }
+
+    public Long getUserId() {
+        return userId;
+    }
+
+    @Override
+    public String getName() {
+        return username;
+    }
+
+    @Override
+    public String toString() {
+        return username;
+    }
+}
@@ -0,0 +1,45 @@
+package com.journal.journalbackend.security;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.security.crypto.bcrypt.BCrypt;
+
+import java.time.Duration;
+import java.util.Arrays;
+
+/**
+ * Picks the bcrypt cost for this host: the highest cost whose hash still fits in the target latency.
+ * Each cost step doubles the work, so one measured cost is enough to extrapolate the rest.
+ */
+public final class BcryptCostCalibrator {
+    private static final Logger logger = LoggerFactory.getLogger(BcryptCostCalibrator.class);
+    private static final int SAMPLES = 3;
+    private static final String SAMPLE_PASSWORD = "calibration-password";
+
+    private BcryptCostCalibrator() {
+    }
+
+    public static int calibrate(Duration targetLatency, int minStrength, int maxStrength) {
+        long[] samples = new long[SAMPLES];
+        String salt = BCrypt.gensalt(minStrength);
+        for (int i = 0; i < SAMPLES; i++) {
+            long start = System.nanoTime();
+            BCrypt.hashpw(SAMPLE_PASSWORD, salt);
+            samples[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(samples);
+        long medianNanos = Math.max(samples[SAMPLES / 2], 1);
+
+        int strength = minStrength;
+        long estimatedNanos = medianNanos;
+        while (strength < maxStrength && estimatedNanos * 2 <= targetLatency.toNanos()) {
+            strength++;
+            estimatedNanos *= 2;
+        }
+
+        logger.info("bcrypt cost {} took {} ms; using cost {} (about {} ms per hash, target {} ms)",
+                minStrength, medianNanos / 1_000_000, strength, estimatedNanos / 1_000_000,
+                targetLatency.toMillis());
+        return strength;
+    }
+}
@@ -1,27 +1,102 @@
 package com.journal.journalbackend.security;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.Claims;
 import io.jsonwebtoken.JwtException;
+import io.jsonwebtoken.JwtParser;
 import io.jsonwebtoken.Jwts;
 import io.jsonwebtoken.security.Keys;
+import io.micrometer.core.instrument.MeterRegistry;
+import com.journal.journalbackend.model.User;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.Authentication;
 import org.springframework.stereotype.Component;
 
 import javax.crypto.SecretKey;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Base64;
 import java.util.Date;
+import java.util.concurrent.TimeUnit;
 
 @Component
 public class JwtTokenProvider {
+    private static final Logger logger = LoggerFactory.getLogger(JwtTokenProvider.class);
+    private static final String USER_ID_CLAIM = "uid";
 
     @Value("${app.jwt.expiration}")
     private int jwtExpirationMs;
 
     private final SecretKey key;
+    private final JwtParser parser;
 
-    public JwtTokenProvider(@Value("${app.jwt.secret:defaultSecretKey}") String secret) {
+    // Tokens whose signature has already been checked, keyed by SHA-256 of the token; each entry expires with its token
+    private final Cache<String, VerifiedToken> verifiedTokens;
+
+    private record VerifiedToken(AuthenticatedUser user, long expiresAtMillis) {
+    }
+
+    public JwtTokenProvider(@Value("${app.jwt.secret:defaultSecretKey}") String secret,
+                            MeterRegistry meterRegistry,
+                            @Value("${app.cache.jwt.max-size:100000}") long maxSize) {
         // Generate a secure key from the provided secret
         this.key = Keys.hmacShaKeyFor(secret.getBytes());
+        this.parser = Jwts.parser().verifyWith(key).build();
+        this.verifiedTokens = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new Expiry<String, VerifiedToken>() {
+                    // Each entry lives exactly as long as its token
+                    @Override
+                    public long expireAfterCreate(String tokenHash, VerifiedToken token, long currentTime) {
+                        long remainingMillis = Math.max(token.expiresAtMillis() - System.currentTimeMillis(), 0);
+                        return TimeUnit.MILLISECONDS.toNanos(remainingMillis);
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String tokenHash, VerifiedToken token, long currentTime,
+                                                  long currentDuration) {
+                        return currentDuration;
+                    }
+
+                    @Override
+                    public long expireAfterRead(String tokenHash, VerifiedToken token, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, verifiedTokens, "jwt-verified");
+    }
+
+    // Caller of a valid token, or null; repeat callers are served from the cache without signature checks.
+    // Tokens issued before the uid claim existed yield a user without an id.
+    public AuthenticatedUser getVerifiedUser(String token) {
+        String tokenHash = hash(token);
+        VerifiedToken cached = verifiedTokens.getIfPresent(tokenHash);
+        if (cached != null) {
+            return cached.user();
+        }
+
+        try {
+            Claims claims = parser.parseSignedClaims(token).getPayload();
+            AuthenticatedUser user = new AuthenticatedUser(claims.get(USER_ID_CLAIM, Long.class), claims.getSubject());
+            // Only successful verifications are cached, so invalid tokens cannot crowd out good ones
+            if (claims.getExpiration() != null) {
+                verifiedTokens.put(tokenHash, new VerifiedToken(user, claims.getExpiration().getTime()));
+            }
+            return user;
+        } catch (JwtException | IllegalArgumentException e) {
+            // Debug only: junk tokens arrive on every request path and must not flood the log
+            logger.debug("Invalid JWT token: {}", e.getMessage());
+            return null;
+        }
     }
 
     public String generateToken(Authentication authentication) {
@@ -38,35 +113,38 @@ public class JwtTokenProvider {
                 .compact();
     }
 
-    public String generateTokenFromUsername(String username) {
+    // Token for a regular user, carrying the id so requests need no user lookup
+    public String generateToken(User user) {
         Date now = new Date();
         Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
         return Jwts.builder()
-                .subject(username)
+                .subject(user.getUsername())
+                .claim(USER_ID_CLAIM, user.getId())
                 .issuedAt(now)
                 .expiration(expiryDate)
                 .signWith(key)
                 .compact();
     }
 
-    public String getUsernameFromToken(String token) {
-        Claims claims = Jwts.parser()
-                .verifyWith(key)
-                .build()
-                .parseSignedClaims(token)
-                .getPayload();
+    public String generateTokenFromUsername(String username) {
+        Date now = new Date();
+        Date expiryDate = new Date(now.getTime() + jwtExpirationMs);
 
-        return claims.getSubject();
+        return Jwts.builder()
+                .subject(username)
+                .issuedAt(now)
+                .expiration(expiryDate)
+                .signWith(key)
+                .compact();
     }
 
-    public boolean validateToken(String authToken) {
+    private static String hash(String token) {
         try {
-            Jwts.parser().verifyWith(key).build().parseSignedClaims(authToken);
-            return true;
-        } catch (JwtException | IllegalArgumentException e) {
-            System.out.println("Invalid JWT token: " + e.getMessage());
-            return false;
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(token.getBytes(StandardCharsets.UTF_8));
+            return Base64.getEncoder().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
         }
     }
 }
\ No newline at end of file
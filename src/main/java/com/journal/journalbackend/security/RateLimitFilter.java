@@ -0,0 +1,42 @@
+package com.journal.journalbackend.security;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Per-IP limits for the configured routes, applied before any authentication work.
+// The remote address is the real client only behind a trusted proxy (server.forward-headers-strategy)
+@Component
+public class RateLimitFilter extends OncePerRequestFilter {
+    private final RateLimiter rateLimiter;
+
+    public RateLimitFilter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        String rule = rateLimiter.findIpRule(request.getRequestURI().substring(request.getContextPath().length()));
+        if (rule != null) {
+            long retryAfterMillis = rateLimiter.acquireForIp(rule, request.getRemoteAddr());
+            if (retryAfterMillis > 0) {
+                long retryAfterSeconds = RateLimiter.retryAfterSeconds(retryAfterMillis);
+                response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+                response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+                response.setContentType("text/plain");
+                response.getWriter().write("Too many requests, try again in " + retryAfterSeconds + " seconds");
+                return;
+            }
+        }
+
+        filterChain.doFilter(request, response);
+    }
+}
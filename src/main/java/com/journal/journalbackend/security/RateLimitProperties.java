@@ -0,0 +1,72 @@
+package com.journal.journalbackend.security;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Per-route limits, keyed by rule name, e.g. app.rate-limit.routes.login.per-ip=20.
+ * A limit of 0 turns that key off for the route.
+ */
+@ConfigurationProperties(prefix = "app.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private Map<String, Route> routes = new LinkedHashMap<>();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Map<String, Route> getRoutes() {
+        return routes;
+    }
+
+    public void setRoutes(Map<String, Route> routes) {
+        this.routes = routes;
+    }
+
+    public static class Route {
+        private String path;
+        private Duration window = Duration.ofMinutes(1);
+        private int perIp;
+        private int perAccount;
+
+        public String getPath() {
+            return path;
+        }
+
+        public void setPath(String path) {
+            this.path = path;
+        }
+
+        public Duration getWindow() {
+            return window;
+        }
+
+        public void setWindow(Duration window) {
+            this.window = window;
+        }
+
+        public int getPerIp() {
+            return perIp;
+        }
+
+        public void setPerIp(int perIp) {
+            this.perIp = perIp;
+        }
+
+        public int getPerAccount() {
+            return perAccount;
+        }
+
+        public void setPerAccount(int perAccount) {
+            this.perAccount = perAccount;
+        }
+    }
+}
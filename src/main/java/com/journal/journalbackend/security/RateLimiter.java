@@ -0,0 +1,169 @@
+package com.journal.journalbackend.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.DefaultRedisScript;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.ArrayDeque;
+import java.util.Base64;
+import java.util.Deque;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Sliding-window limiter shared by all instances through Redis: each key is a sorted set of
+ * request timestamps, trimmed and counted atomically by a Lua script using the Redis clock.
+ * If Redis is unreachable the same window is kept in process, so limits then apply per instance.
+ */
+@Component
+public class RateLimiter {
+    private static final Logger logger = LoggerFactory.getLogger(RateLimiter.class);
+    private static final String REDIS_KEY_PREFIX = "rate-limit:";
+
+    // Returns 0 when the request is admitted, otherwise the milliseconds until a slot frees up
+    private static final DefaultRedisScript<Long> SLIDING_WINDOW = new DefaultRedisScript<>("""
+            local key = KEYS[1]
+            local limit = tonumber(ARGV[1])
+            local window = tonumber(ARGV[2])
+            local time = redis.call('TIME')
+            local now = tonumber(time[1]) * 1000 + math.floor(tonumber(time[2]) / 1000)
+            redis.call('ZREMRANGEBYSCORE', key, '-inf', now - window)
+            if redis.call('ZCARD', key) < limit then
+                redis.call('ZADD', key, now, ARGV[3])
+                redis.call('PEXPIRE', key, window)
+                return 0
+            end
+            local oldest = redis.call('ZRANGE', key, 0, 0, 'WITHSCORES')
+            return math.max(tonumber(oldest[2]) + window - now, 1)
+            """, Long.class);
+
+    private final RateLimitProperties properties;
+    private final StringRedisTemplate redisTemplate;
+    private final MeterRegistry meterRegistry;
+    private final Cache<String, Deque<Long>> localWindows;
+    private volatile boolean redisAvailable = true;
+
+    public RateLimiter(RateLimitProperties properties, StringRedisTemplate redisTemplate, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.redisTemplate = redisTemplate;
+        this.meterRegistry = meterRegistry;
+
+        Duration longestWindow = properties.getRoutes().values().stream()
+                .map(RateLimitProperties.Route::getWindow)
+                .max(Duration::compareTo)
+                .orElse(Duration.ofMinutes(1));
+        this.localWindows = Caffeine.newBuilder()
+                .expireAfterAccess(longestWindow)
+                .maximumSize(100_000)
+                .build();
+    }
+
+    // Route whose per-ip rule matches this path, or null
+    public String findIpRule(String path) {
+        if (!properties.isEnabled()) {
+            return null;
+        }
+        return properties.getRoutes().entrySet().stream()
+                .filter(route -> route.getValue().getPerIp() > 0 && path.equals(route.getValue().getPath()))
+                .map(Map.Entry::getKey)
+                .findFirst()
+                .orElse(null);
+    }
+
+    // Milliseconds the client must wait, or 0 when the request from this address is admitted
+    public long acquireForIp(String rule, String ip) {
+        RateLimitProperties.Route route = properties.getRoutes().get(rule);
+        return acquire(rule, "ip:" + ip, route.getPerIp(), route.getWindow());
+    }
+
+    // Per-account check for callers that know the account only after reading the body
+    public void checkAccount(String rule, String account) {
+        RateLimitProperties.Route route = properties.getRoutes().get(rule);
+        if (!properties.isEnabled() || route == null || route.getPerAccount() <= 0 || account == null) {
+            return;
+        }
+        // Accounts are hashed so usernames and emails never appear in Redis keys
+        String key = "account:" + hash(account.trim().toLowerCase(Locale.ROOT));
+        long retryAfterMillis = acquire(rule, key, route.getPerAccount(), route.getWindow());
+        if (retryAfterMillis > 0) {
+            throw new ResponseStatusException(HttpStatus.TOO_MANY_REQUESTS,
+                    "Too many attempts, try again in " + retryAfterSeconds(retryAfterMillis) + " seconds");
+        }
+    }
+
+    public static long retryAfterSeconds(long retryAfterMillis) {
+        return Math.max((retryAfterMillis + 999) / 1000, 1);
+    }
+
+    // Helper method: one decision against Redis, or the local window when Redis fails
+    private long acquire(String rule, String key, int limit, Duration window) {
+        long start = System.nanoTime();
+        String backend = "redis";
+        long retryAfterMillis;
+        try {
+            Long result = redisTemplate.execute(SLIDING_WINDOW, List.of(REDIS_KEY_PREFIX + rule + ":" + key),
+                    String.valueOf(limit), String.valueOf(window.toMillis()), UUID.randomUUID().toString());
+            retryAfterMillis = result != null ? result : 0;
+            if (!redisAvailable) {
+                redisAvailable = true;
+                logger.info("Rate limiter is back on Redis");
+            }
+        } catch (RuntimeException e) {
+            if (redisAvailable) {
+                redisAvailable = false;
+                logger.warn("Rate limiter falling back to in-process windows, Redis failed: {}", e.getMessage());
+            }
+            backend = "local";
+            retryAfterMillis = acquireLocally(rule + ":" + key, limit, window);
+        }
+
+        Timer.builder("ratelimit.decision")
+                .description("Time taken to decide whether a request is within its rate limit")
+                .tag("rule", rule)
+                .tag("backend", backend)
+                .tag("outcome", retryAfterMillis > 0 ? "limited" : "allowed")
+                .register(meterRegistry)
+                .record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        return retryAfterMillis;
+    }
+
+    // Helper method: the sliding window of the Lua script, kept per instance
+    private long acquireLocally(String key, int limit, Duration window) {
+        Deque<Long> timestamps = localWindows.get(key, k -> new ArrayDeque<>());
+        long now = System.currentTimeMillis();
+        synchronized (timestamps) {
+            while (!timestamps.isEmpty() && timestamps.peekFirst() <= now - window.toMillis()) {
+                timestamps.pollFirst();
+            }
+            if (timestamps.size() < limit) {
+                timestamps.addLast(now);
+                return 0;
+            }
+            return Math.max(timestamps.peekFirst() + window.toMillis() - now, 1);
+        }
+    }
+
+    private static String hash(String value) {
+        try {
+            byte[] digest = MessageDigest.getInstance("SHA-256").digest(value.getBytes(StandardCharsets.UTF_8));
+            return Base64.getUrlEncoder().withoutPadding().encodeToString(digest);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+    }
+}
@@ -0,0 +1,35 @@
+package com.journal.journalbackend.service;
+
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Defers side effects on caches, indexes and files until the surrounding transaction commits.
+ */
+final class AfterCommit {
+
+    private AfterCommit() {
+    }
+
+    // Run once the surrounding transaction commits, or straight away when there is none
+    static void run(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    // Invalidate now and again after commit, so a reader racing the change cannot re-cache the old state
+    static void invalidate(Runnable invalidation) {
+        invalidation.run();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            run(invalidation);
+        }
+    }
+}
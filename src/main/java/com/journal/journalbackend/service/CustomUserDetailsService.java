@@ -1,23 +1,46 @@
 package com.journal.journalbackend.service;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.journal.journalbackend.model.User;
 import com.journal.journalbackend.repository.UserRepository;
+import com.journal.journalbackend.security.AuthenticatedUser;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.authority.SimpleGrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
 import org.springframework.security.core.userdetails.UsernameNotFoundException;
 import org.springframework.stereotype.Service;
 
+import java.time.Duration;
 import java.util.Collections;
+import java.util.List;
 
 @Service
 public class CustomUserDetailsService implements UserDetailsService {
+    // The operator account; it alone may use the actuator endpoints
+    public static final String ADMIN_USERNAME = "admin";
+
     private final UserRepository userRepository;
+    private final Cache<String, UserDetails> userDetailsCache;
 
-    public CustomUserDetailsService(UserRepository userRepository) {
+    public CustomUserDetailsService(UserRepository userRepository,
+                                    MeterRegistry meterRegistry,
+                                    @Value("${app.cache.user-details.max-size:10000}") long maxSize,
+                                    @Value("${app.cache.user-details.ttl:PT1M}") Duration ttl) {
         this.userRepository = userRepository;
+        // Short TTL bounds how long another instance can serve details changed elsewhere
+        this.userDetailsCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, userDetailsCache, "user-details");
     }
 
+    // Uncached, used by the login flow which must always see the current password hash
     @Override
     public UserDetails loadUserByUsername(String username) throws UsernameNotFoundException {
         User user = userRepository.findByUsername(username)
@@ -30,8 +53,26 @@ public class CustomUserDetailsService implements UserDetailsService {
                 true, // accountNonExpired
                 true, // credentialsNonExpired
                 true, // accountNonLocked
-                Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
+                ADMIN_USERNAME.equals(user.getUsername())
+                        ? List.of(new SimpleGrantedAuthority("ROLE_USER"), new SimpleGrantedAuthority("ROLE_ADMIN"))
+                        : Collections.singletonList(new SimpleGrantedAuthority("ROLE_USER"))
         );
     }
 
+    // Cached lookup for token-authenticated requests; callers get a copy so credential erasure cannot reach the cache
+    public UserDetails loadCachedUserByUsername(String username) throws UsernameNotFoundException {
+        UserDetails cached = userDetailsCache.get(username, this::loadUserByUsername);
+        return org.springframework.security.core.userdetails.User.withUserDetails(cached).build();
+    }
+
+    // Principal for tokens that predate the uid claim
+    public AuthenticatedUser loadAuthenticatedUser(String username) throws UsernameNotFoundException {
+        User user = userRepository.findByUsername(username)
+                .orElseThrow(() -> new UsernameNotFoundException("User not found with username: " + username));
+        return new AuthenticatedUser(user.getId(), user.getUsername());
+    }
+
+    public void evict(String username) {
+        AfterCommit.invalidate(() -> userDetailsCache.invalidate(username));
+    }
 }
@@ -0,0 +1,37 @@
+package com.journal.journalbackend.service;
+
+import com.journal.journalbackend.messaging.producer.EmailOutboxRelay;
+import com.journal.journalbackend.model.EmailOutbox;
+import com.journal.journalbackend.repository.EmailOutboxRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+// Queues account emails through the outbox, so they commit or roll back with the account change itself
+@Service
+public class EmailOutboxService {
+    private final EmailOutboxRepository emailOutboxRepository;
+    private final EmailOutboxRelay emailOutboxRelay;
+
+    public EmailOutboxService(EmailOutboxRepository emailOutboxRepository, EmailOutboxRelay emailOutboxRelay) {
+        this.emailOutboxRepository = emailOutboxRepository;
+        this.emailOutboxRelay = emailOutboxRelay;
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueueVerificationEmail(String to, String token, String firstName) {
+        enqueue(new EmailOutbox(EmailOutbox.Type.VERIFICATION, to, token, firstName));
+    }
+
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void enqueuePasswordResetEmail(String to, String token, String firstName) {
+        enqueue(new EmailOutbox(EmailOutbox.Type.PASSWORD_RESET, to, token, firstName));
+    }
+
+    private void enqueue(EmailOutbox outbox) {
+        emailOutboxRepository.save(outbox);
+
+        // Relay as soon as the row is visible instead of waiting for the next poll
+        AfterCommit.run(emailOutboxRelay::wake);
+    }
+}
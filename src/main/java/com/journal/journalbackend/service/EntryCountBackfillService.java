@@ -0,0 +1,101 @@
+package com.journal.journalbackend.service;
+
+import com.journal.journalbackend.model.JobCheckpoint;
+import com.journal.journalbackend.repository.JobCheckpointRepository;
+import com.journal.journalbackend.repository.UserMonthlyEntryCountRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * One-off rebuild of user_monthly_entry_counts from existing entries, a range of user ids per transaction.
+ * Progress is checkpointed so a restart continues where it stopped; once complete it never runs again.
+ */
+@Service
+public class EntryCountBackfillService {
+    private static final Logger logger = LoggerFactory.getLogger(EntryCountBackfillService.class);
+
+    private final UserMonthlyEntryCountRepository countRepository;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+
+    public EntryCountBackfillService(UserMonthlyEntryCountRepository countRepository,
+                                     JobCheckpointRepository jobCheckpointRepository,
+                                     PlatformTransactionManager transactionManager,
+                                     @Value("${app.rollup.backfill-chunk-size:200}") int chunkSize) {
+        this.countRepository = countRepository;
+        this.jobCheckpointRepository = jobCheckpointRepository;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        this.chunkSize = Math.max(chunkSize, 1);
+    }
+
+    public void backfill() {
+        JobCheckpoint checkpoint = jobCheckpointRepository.findById(EntryCountRollup.BACKFILL_JOB)
+                .orElseGet(() -> new JobCheckpoint(EntryCountRollup.BACKFILL_JOB));
+        if (checkpoint.getCompletedAt() != null) {
+            return;
+        }
+        if (checkpoint.getStartedAt() == null) {
+            checkpoint.setStartedAt(LocalDateTime.now());
+        }
+
+        // Users created after this point only ever have live-maintained counts
+        long maxUserId = countRepository.findMaxUserId();
+        long fromId = checkpoint.getLastId();
+        logger.info("Backfilling monthly entry counts for users {} to {}", fromId + 1, maxUserId);
+        while (fromId < maxUserId) {
+            long chunkFrom = fromId;
+            long chunkTo = Math.min(fromId + chunkSize, maxUserId);
+            chunkTransaction.executeWithoutResult(status -> {
+                rebuildUsers(chunkFrom, chunkTo);
+                checkpoint.setLastId(chunkTo);
+                checkpoint.setUpdatedAt(LocalDateTime.now());
+                jobCheckpointRepository.save(checkpoint);
+            });
+            fromId = chunkTo;
+        }
+
+        checkpoint.setCompletedAt(LocalDateTime.now());
+        checkpoint.setUpdatedAt(checkpoint.getCompletedAt());
+        jobCheckpointRepository.save(checkpoint);
+        logger.info("Monthly entry count backfill complete");
+    }
+
+    // Helper method: recount users (fromId, toId] from their live entries and replace their rollup rows
+    private void rebuildUsers(long fromId, long toId) {
+        Map<Long, ZoneId> zones = new HashMap<>();
+        for (Object[] row : countRepository.findUserZones(fromId, toId)) {
+            zones.put(((Number) row[0]).longValue(), ZoneId.of((String) row[1]));
+        }
+
+        // Entry rows stay share-locked until commit, so concurrent increments land after the replacement
+        Map<Long, Map<Integer, Long>> counts = new HashMap<>();
+        List<Object[]> entries = countRepository.lockLiveEntryTimes(fromId, toId);
+        for (Object[] row : entries) {
+            Long userId = ((Number) row[0]).longValue();
+            int month = EntryCountRollup.monthKey(toLocalDateTime(row[1]), zones.getOrDefault(userId, ZoneId.of("UTC")));
+            counts.computeIfAbsent(userId, id -> new HashMap<>()).merge(month, 1L, Long::sum);
+        }
+
+        countRepository.deleteForUsers(fromId, toId);
+        counts.forEach((userId, months) -> months.forEach(
+                (month, count) -> countRepository.setCount(userId, month, count)));
+    }
+
+    private LocalDateTime toLocalDateTime(Object value) {
+        return value instanceof Timestamp ? ((Timestamp) value).toLocalDateTime() : (LocalDateTime) value;
+    }
+}
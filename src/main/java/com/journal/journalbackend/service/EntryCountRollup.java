@@ -0,0 +1,75 @@
+package com.journal.journalbackend.service;
+
+import com.journal.journalbackend.model.UserMonthlyEntryCount;
+import com.journal.journalbackend.repository.JobCheckpointRepository;
+import com.journal.journalbackend.repository.UserMonthlyEntryCountRepository;
+import com.journal.journalbackend.repository.UserRepository;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * Per-user monthly entry counts in the user's local calendar.
+ * Deltas are applied inside the caller's transaction, so the rollup commits or rolls back with the entry change.
+ */
+@Component
+public class EntryCountRollup {
+    public static final String BACKFILL_JOB = "backfill-monthly-entry-counts";
+
+    private final UserMonthlyEntryCountRepository countRepository;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final UserRepository userRepository;
+
+    public EntryCountRollup(UserMonthlyEntryCountRepository countRepository,
+                            JobCheckpointRepository jobCheckpointRepository,
+                            UserRepository userRepository) {
+        this.countRepository = countRepository;
+        this.jobCheckpointRepository = jobCheckpointRepository;
+        this.userRepository = userRepository;
+    }
+
+    // An entry created at createdAt (UTC) became live: creation, or restore from the recycle bin
+    public void entryAdded(Long userId, LocalDateTime createdAt) {
+        countRepository.addToCount(userId, monthKey(createdAt, currentZone(userId)), 1);
+    }
+
+    // A live entry created at createdAt (UTC) stopped counting: soft or hard delete
+    public void entryRemoved(Long userId, LocalDateTime createdAt) {
+        countRepository.addToCount(userId, monthKey(createdAt, currentZone(userId)), -1);
+    }
+
+    // Helper method: the zone is read from the user row on each write, never from a token that may predate a change
+    private ZoneId currentZone(Long userId) {
+        return userRepository.findTimezoneById(userId);
+    }
+
+    // Counts for one local month, keyed by user id; users without entries are absent
+    @Transactional(readOnly = true)
+    public Map<Long, Long> getCounts(Collection<Long> userIds, YearMonth month) {
+        return countRepository.findByUserIdInAndEntryMonth(userIds, monthKey(month)).stream()
+                .collect(Collectors.toMap(UserMonthlyEntryCount::getUserId, UserMonthlyEntryCount::getEntryCount));
+    }
+
+    // The rollup only reflects entries written before it existed once the backfill has completed
+    @Transactional(readOnly = true)
+    public boolean isBackfilled() {
+        return jobCheckpointRepository.findById(BACKFILL_JOB)
+                .map(checkpoint -> checkpoint.getCompletedAt() != null)
+                .orElse(false);
+    }
+
+    public static int monthKey(LocalDateTime createdAtUtc, ZoneId zone) {
+        return monthKey(YearMonth.from(createdAtUtc.atZone(ZoneOffset.UTC).withZoneSameInstant(zone)));
+    }
+
+    public static int monthKey(YearMonth month) {
+        return month.getYear() * 100 + month.getMonthValue();
+    }
+}
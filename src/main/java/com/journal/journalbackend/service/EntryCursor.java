@@ -0,0 +1,52 @@
+package com.journal.journalbackend.service;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Opaque keyset position in an entry listing ordered by (entry_date DESC, id DESC).
+ * Clients only ever see the encoded token and hand it back unchanged.
+ */
+public final class EntryCursor {
+    private final LocalDate entryDate;
+    private final Long id;
+
+    public EntryCursor(LocalDate entryDate, Long id) {
+        this.entryDate = entryDate;
+        this.id = id;
+    }
+
+    public LocalDate getEntryDate() {
+        return entryDate;
+    }
+
+    public Long getId() {
+        return id;
+    }
+
+    public String encode() {
+        String raw = entryDate + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static EntryCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Missing separator");
+            }
+            return new EntryCursor(
+                    LocalDate.parse(raw.substring(0, separator)),
+                    Long.parseLong(raw.substring(separator + 1))
+            );
+        } catch (IllegalArgumentException | DateTimeParseException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.journal.journalbackend.service;
+
+import com.journal.journalbackend.repository.EntryRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Fills entries.month_day for rows written before the column existed.
+ * Runs once per startup in small committed batches and is a no-op once every row has a value.
+ */
+@Component
+public class EntryMonthDayBackfill {
+    private static final Logger logger = LoggerFactory.getLogger(EntryMonthDayBackfill.class);
+    private static final int BATCH_SIZE = 5000;
+
+    private final EntryRepository entryRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    public EntryMonthDayBackfill(EntryRepository entryRepository, PlatformTransactionManager transactionManager) {
+        this.entryRepository = entryRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        Thread backfill = new Thread(this::backfill, "entry-month-day-backfill");
+        backfill.setDaemon(true);
+        backfill.start();
+    }
+
+    private void backfill() {
+        long updated = 0;
+        try {
+            int batch;
+            do {
+                batch = transactionTemplate.execute(status -> entryRepository.backfillMonthDay(BATCH_SIZE));
+                updated += batch;
+            } while (batch == BATCH_SIZE);
+            if (updated > 0) {
+                logger.info("Backfilled month_day on {} entries", updated);
+            }
+        } catch (RuntimeException e) {
+            logger.error("month_day backfill stopped after {} entries: {}", updated, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,174 @@
+package com.journal.journalbackend.service;
+
+import com.journal.journalbackend.model.JobCheckpoint;
+import com.journal.journalbackend.repository.EntryRepository;
+import com.journal.journalbackend.repository.EntryVersionRepository;
+import com.journal.journalbackend.repository.JobCheckpointRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hard-deletes expired entry versions and then soft-deleted entries with no versions left.
+ * Work is done in bounded id ranges with set-based statements, one transaction per chunk,
+ * and each committed chunk moves a checkpoint so an interrupted pass resumes where it stopped.
+ */
+@Service
+public class EntryPurgeService {
+    private static final Logger logger = LoggerFactory.getLogger(EntryPurgeService.class);
+
+    static final String VERSIONS_JOB = "purge-entry-versions";
+    static final String ENTRIES_JOB = "purge-orphaned-entries";
+
+    private final EntryRepository entryRepository;
+    private final EntryVersionRepository entryVersionRepository;
+    private final JobCheckpointRepository jobCheckpointRepository;
+    private final TransactionTemplate chunkTransaction;
+    private final Path fileStorageLocation;
+    private final int chunkSize;
+    private final int retentionDays;
+
+    private final Counter versionsDeleted;
+    private final Counter entriesDeleted;
+    private final AtomicLong backlog = new AtomicLong();
+    private volatile double rowsPerSecond;
+
+    @FunctionalInterface
+    private interface ChunkAction {
+        int purge(long fromId, long toId);
+    }
+
+    public EntryPurgeService(EntryRepository entryRepository,
+                             EntryVersionRepository entryVersionRepository,
+                             JobCheckpointRepository jobCheckpointRepository,
+                             PlatformTransactionManager transactionManager,
+                             MeterRegistry meterRegistry,
+                             @Value("${app.file.upload-dir:uploads}") String uploadDir,
+                             @Value("${app.purge.chunk-size:5000}") int chunkSize,
+                             @Value("${app.purge.retention-days:30}") int retentionDays) {
+        this.entryRepository = entryRepository;
+        this.entryVersionRepository = entryVersionRepository;
+        this.jobCheckpointRepository = jobCheckpointRepository;
+        this.fileStorageLocation = Paths.get(uploadDir).toAbsolutePath().normalize();
+        this.chunkSize = Math.max(chunkSize, 1);
+        this.retentionDays = retentionDays;
+
+        // Each chunk commits on its own, independent of any caller transaction
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+        this.versionsDeleted = Counter.builder("purge.rows.deleted").tag("table", "entry_versions")
+                .register(meterRegistry);
+        this.entriesDeleted = Counter.builder("purge.rows.deleted").tag("table", "entries")
+                .register(meterRegistry);
+        Gauge.builder("purge.backlog", backlog, AtomicLong::get)
+                .description("Rows still waiting to be purged in the current pass")
+                .register(meterRegistry);
+        Gauge.builder("purge.rows.per.second", this, service -> service.rowsPerSecond)
+                .description("Delete throughput of the current or last purge pass")
+                .register(meterRegistry);
+    }
+
+    // Hard delete old versions and orphaned entries (run by EntryPurgeJob)
+    public void purge() {
+        LocalDateTime cutoff = LocalDateTime.now().minusDays(retentionDays);
+        try {
+            backlog.set(entryVersionRepository.countExpired(cutoff));
+            long versions = runPass(VERSIONS_JOB, entryVersionRepository.findMaxId(),
+                    (fromId, toId) -> purgeVersionChunk(fromId, toId, cutoff), versionsDeleted);
+
+            // Entries only become orphaned once their versions are gone, so count them afterwards
+            backlog.set(entryRepository.countOrphaned());
+            long entries = runPass(ENTRIES_JOB, entryRepository.findMaxId(),
+                    this::purgeEntryChunk, entriesDeleted);
+
+            logger.info("Purge finished: {} versions and {} entries deleted", versions, entries);
+        } catch (RuntimeException e) {
+            logger.error("Purge stopped, it will resume from its checkpoint on the next run: {}", e.getMessage());
+        }
+    }
+
+    // Helper method: walk (checkpoint, maxId] in chunks, committing the checkpoint with each chunk
+    private long runPass(String jobName, long maxId, ChunkAction action, Counter deleted) {
+        JobCheckpoint checkpoint = jobCheckpointRepository.findById(jobName)
+                .orElseGet(() -> new JobCheckpoint(jobName));
+        if (checkpoint.getStartedAt() == null || checkpoint.getCompletedAt() != null) {
+            checkpoint.setLastId(0L);
+            checkpoint.setStartedAt(LocalDateTime.now());
+            checkpoint.setCompletedAt(null);
+        } else {
+            logger.info("Resuming {} after id {}", jobName, checkpoint.getLastId());
+        }
+
+        long passStart = System.nanoTime();
+        long total = 0;
+        long fromId = checkpoint.getLastId();
+        while (fromId < maxId) {
+            long chunkFrom = fromId;
+            long chunkTo = Math.min(fromId + chunkSize, maxId);
+            int rows = chunkTransaction.execute(status -> {
+                int purged = action.purge(chunkFrom, chunkTo);
+                checkpoint.setLastId(chunkTo);
+                checkpoint.setUpdatedAt(LocalDateTime.now());
+                jobCheckpointRepository.save(checkpoint);
+                return purged;
+            });
+
+            total += rows;
+            deleted.increment(rows);
+            backlog.updateAndGet(remaining -> Math.max(remaining - rows, 0));
+            double elapsedSeconds = (System.nanoTime() - passStart) / 1_000_000_000.0;
+            rowsPerSecond = elapsedSeconds > 0 ? total / elapsedSeconds : 0;
+            fromId = chunkTo;
+        }
+
+        checkpoint.setCompletedAt(LocalDateTime.now());
+        checkpoint.setUpdatedAt(checkpoint.getCompletedAt());
+        jobCheckpointRepository.save(checkpoint);
+        return total;
+    }
+
+    // Helper method: delete expired versions in one id range, join rows first
+    private int purgeVersionChunk(long fromId, long toId, LocalDateTime cutoff) {
+        entryVersionRepository.deleteExpiredTagLinks(fromId, toId, cutoff);
+        entryVersionRepository.detachExpiredCurrentVersions(fromId, toId, cutoff);
+        return entryVersionRepository.deleteExpired(fromId, toId, cutoff);
+    }
+
+    // Helper method: delete orphaned entries in one id range along with their tag links and media
+    private int purgeEntryChunk(long fromId, long toId) {
+        List<String> mediaFiles = entryRepository.findOrphanedMediaFilenames(fromId, toId);
+        entryRepository.deleteOrphanedTagLinks(fromId, toId);
+        entryRepository.deleteOrphanedMedia(fromId, toId);
+        int deleted = entryRepository.deleteOrphaned(fromId, toId);
+
+        if (!mediaFiles.isEmpty()) {
+            // Files go only once the rows are gone for good
+            AfterCommit.run(() -> mediaFiles.forEach(this::deleteMediaFile));
+        }
+        return deleted;
+    }
+
+    private void deleteMediaFile(String filename) {
+        try {
+            Files.deleteIfExists(fileStorageLocation.resolve(filename).normalize());
+        } catch (IOException e) {
+            logger.warn("Could not delete purged media file {}: {}", filename, e.getMessage());
+        }
+    }
+}
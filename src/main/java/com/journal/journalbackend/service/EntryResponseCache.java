@@ -0,0 +1,53 @@
+package com.journal.journalbackend.service;
+
+import com.journal.journalbackend.config.CacheConfig;
+import com.journal.journalbackend.dto.response.EntryResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Component;
+
+/**
+ * Read-through cache of single-entry responses keyed by entry id.
+ * Redis failures are logged and treated as a miss so reads never depend on the cache.
+ */
+@Component
+public class EntryResponseCache {
+    private static final Logger logger = LoggerFactory.getLogger(EntryResponseCache.class);
+
+    private final Cache cache;
+
+    public EntryResponseCache(CacheManager cacheManager) {
+        this.cache = cacheManager.getCache(CacheConfig.ENTRY_CACHE);
+    }
+
+    public EntryResponse get(Long entryId) {
+        try {
+            return cache.get(entryId, EntryResponse.class);
+        } catch (RuntimeException e) {
+            logger.warn("Entry cache read failed for entry {}: {}", entryId, e.getMessage());
+            return null;
+        }
+    }
+
+    public void put(Long entryId, EntryResponse response) {
+        try {
+            cache.put(entryId, response);
+        } catch (RuntimeException e) {
+            logger.warn("Entry cache write failed for entry {}: {}", entryId, e.getMessage());
+        }
+    }
+
+    public void evict(Long entryId) {
+        AfterCommit.invalidate(() -> evictQuietly(entryId));
+    }
+
+    private void evictQuietly(Long entryId) {
+        try {
+            cache.evict(entryId);
+        } catch (RuntimeException e) {
+            logger.warn("Entry cache eviction failed for entry {}: {}", entryId, e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,392 @@
+package com.journal.journalbackend.service;
+
+import com.journal.journalbackend.dto.response.EntrySearchPageResponse;
+import com.journal.journalbackend.dto.response.EntrySearchResult;
+import com.journal.journalbackend.model.Entry;
+import com.journal.journalbackend.repository.EntryRepository;
+import jakarta.annotation.PreDestroy;
+import org.apache.lucene.analysis.Analyzer;
+import org.apache.lucene.analysis.standard.StandardAnalyzer;
+import org.apache.lucene.document.Document;
+import org.apache.lucene.document.Field;
+import org.apache.lucene.document.NumericDocValuesField;
+import org.apache.lucene.document.StoredField;
+import org.apache.lucene.document.StringField;
+import org.apache.lucene.document.TextField;
+import org.apache.lucene.index.IndexWriter;
+import org.apache.lucene.index.IndexWriterConfig;
+import org.apache.lucene.index.StoredFields;
+import org.apache.lucene.index.Term;
+import org.apache.lucene.queryparser.simple.SimpleQueryParser;
+import org.apache.lucene.search.BooleanClause;
+import org.apache.lucene.search.BooleanQuery;
+import org.apache.lucene.search.FieldDoc;
+import org.apache.lucene.search.IndexSearcher;
+import org.apache.lucene.search.Query;
+import org.apache.lucene.search.ScoreDoc;
+import org.apache.lucene.search.SearcherManager;
+import org.apache.lucene.search.Sort;
+import org.apache.lucene.search.SortField;
+import org.apache.lucene.search.TermQuery;
+import org.apache.lucene.search.TopFieldDocs;
+import org.apache.lucene.search.highlight.Highlighter;
+import org.apache.lucene.search.highlight.InvalidTokenOffsetsException;
+import org.apache.lucene.search.highlight.QueryScorer;
+import org.apache.lucene.search.highlight.SimpleHTMLEncoder;
+import org.apache.lucene.search.highlight.SimpleHTMLFormatter;
+import org.apache.lucene.search.highlight.SimpleSpanFragmenter;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Per-user full-text search over entry titles and bodies, backed by an on-disk Lucene index per instance.
+ * Every instance replays entry changes past a watermark (the newest updated_at applied, stored in the index
+ * commit), so writes served elsewhere and writes lost in a crash both reach the index. Writes served here
+ * are applied at once as well. All index writes run on one indexer thread, in submission order.
+ */
+@Service
+public class EntrySearchService {
+    private static final Logger logger = LoggerFactory.getLogger(EntrySearchService.class);
+
+    private static final String FIELD_ID = "id";
+    private static final String FIELD_ID_SORT = "id_sort";
+    private static final String FIELD_USER = "userId";
+    private static final String FIELD_JOURNAL = "journalId";
+    private static final String FIELD_TITLE = "title";
+    private static final String FIELD_BODY = "body";
+    private static final String FIELD_ENTRY_DATE = "entryDate";
+
+    private static final int MAX_PAGE_SIZE = 50;
+    private static final int SNIPPET_LENGTH = 160;
+    private static final int REBUILD_BATCH_SIZE = 500;
+    private static final String WATERMARK = "watermark";
+
+    // Best score first, newest entry id breaks ties so pages are stable
+    private static final Sort RESULT_ORDER = new Sort(
+            SortField.FIELD_SCORE,
+            new SortField(FIELD_ID_SORT, SortField.Type.LONG, true));
+
+    private final EntryRepository entryRepository;
+    private final Analyzer analyzer = new StandardAnalyzer();
+    private final Directory directory;
+    private final IndexWriter indexWriter;
+    private final SearcherManager searcherManager;
+    private final ScheduledExecutorService indexer;
+    private final long catchUpIntervalMs;
+    private final Duration catchUpOverlap;
+
+    // Indexer thread only: newest updated_at applied, and versions already applied inside the overlap window
+    private LocalDateTime watermark;
+    private final Map<Long, LocalDateTime> appliedVersions = new HashMap<>();
+
+    public EntrySearchService(EntryRepository entryRepository,
+                              @Value("${app.search.index-dir:data/search-index}") String indexDir,
+                              @Value("${app.search.catch-up-interval-ms:5000}") long catchUpIntervalMs,
+                              @Value("${app.search.catch-up-overlap:PT1M}") Duration catchUpOverlap) {
+        this.entryRepository = entryRepository;
+        this.catchUpIntervalMs = catchUpIntervalMs;
+        this.catchUpOverlap = catchUpOverlap;
+
+        try {
+            Path indexPath = Paths.get(indexDir).toAbsolutePath().normalize();
+            Files.createDirectories(indexPath);
+            this.directory = FSDirectory.open(indexPath);
+            this.indexWriter = new IndexWriter(directory, new IndexWriterConfig(analyzer));
+            this.searcherManager = new SearcherManager(indexWriter, null);
+        } catch (IOException ex) {
+            throw new RuntimeException("Could not open the search index directory.", ex);
+        }
+
+        // An index without a watermark (new, wiped, or written before watermarks) is rebuilt in full
+        Iterable<Map.Entry<String, String>> commitData = indexWriter.getLiveCommitData();
+        if (commitData != null) {
+            for (Map.Entry<String, String> data : commitData) {
+                if (WATERMARK.equals(data.getKey())) {
+                    this.watermark = LocalDateTime.parse(data.getValue());
+                }
+            }
+        }
+
+        this.indexer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "search-indexer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    // Index (or re-index) an entry once the current transaction commits
+    public void index(Entry entry, Long userId) {
+        Document document = toDocument(entry, userId);
+        Long entryId = entry.getId();
+        AfterCommit.run(() -> indexer.execute(() -> {
+            try {
+                indexWriter.updateDocument(new Term(FIELD_ID, entryId.toString()), document);
+            } catch (IOException e) {
+                logger.error("Failed to index entry {}: {}", entryId, e.getMessage());
+            }
+        }));
+    }
+
+    // Remove an entry from the index once the current transaction commits
+    public void remove(Long entryId) {
+        AfterCommit.run(() -> indexer.execute(() -> delete(entryId)));
+    }
+
+    public EntrySearchPageResponse search(String queryText, String cursor, int limit, Long userId) {
+        if (queryText == null || queryText.isBlank()) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Search query is required");
+        }
+
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        Query textQuery = new SimpleQueryParser(analyzer, Map.of(FIELD_TITLE, 2.0f, FIELD_BODY, 1.0f))
+                .parse(queryText);
+        Query query = new BooleanQuery.Builder()
+                .add(textQuery, BooleanClause.Occur.MUST)
+                .add(new TermQuery(new Term(FIELD_USER, userId.toString())), BooleanClause.Occur.FILTER)
+                .build();
+
+        try {
+            IndexSearcher searcher = searcherManager.acquire();
+            try {
+                // Fetch one extra hit to find out whether another page exists
+                TopFieldDocs hits = cursor == null || cursor.isBlank()
+                        ? searcher.search(query, pageSize + 1, RESULT_ORDER, true)
+                        : searcher.searchAfter(decodeCursor(cursor), query, pageSize + 1, RESULT_ORDER, true);
+
+                QueryScorer scorer = new QueryScorer(textQuery, FIELD_BODY);
+                Highlighter highlighter = new Highlighter(
+                        new SimpleHTMLFormatter("<mark>", "</mark>"), new SimpleHTMLEncoder(), scorer);
+                highlighter.setTextFragmenter(new SimpleSpanFragmenter(scorer, SNIPPET_LENGTH));
+
+                StoredFields storedFields = searcher.storedFields();
+                int count = Math.min(hits.scoreDocs.length, pageSize);
+                List<Document> documents = new ArrayList<>(count);
+                List<Long> entryIds = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    Document document = storedFields.document(hits.scoreDocs[i].doc);
+                    documents.add(document);
+                    entryIds.add(Long.valueOf(document.get(FIELD_ID)));
+                }
+
+                // Hard deletes (and purged entries) leave no row to replay, so drop such hits here
+                Set<Long> liveIds = entryIds.isEmpty()
+                        ? Set.of() : new HashSet<>(entryRepository.findLiveIdsIn(entryIds));
+                List<EntrySearchResult> results = new ArrayList<>(count);
+                for (int i = 0; i < count; i++) {
+                    Long entryId = entryIds.get(i);
+                    if (liveIds.contains(entryId)) {
+                        results.add(toResult(documents.get(i), hits.scoreDocs[i].score, highlighter));
+                    } else {
+                        indexer.execute(() -> delete(entryId));
+                    }
+                }
+
+                String next = null;
+                if (hits.scoreDocs.length > pageSize) {
+                    FieldDoc last = (FieldDoc) hits.scoreDocs[pageSize - 1];
+                    next = encodeCursor((Float) last.fields[0], (Long) last.fields[1]);
+                }
+                return new EntrySearchPageResponse(results, next);
+            } finally {
+                searcherManager.release(searcher);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Search index could not be read", e);
+        }
+    }
+
+    // Make recent writes visible to searchers
+    @Scheduled(fixedDelayString = "${app.search.refresh-interval-ms:1000}")
+    public void refresh() throws IOException {
+        searcherManager.maybeRefresh();
+    }
+
+    // Persist index changes with their watermark; anything lost in a crash is replayed on the next start
+    @Scheduled(fixedDelayString = "${app.search.commit-interval-ms:30000}")
+    public void commit() throws IOException {
+        if (indexWriter.hasUncommittedChanges()) {
+            indexWriter.commit();
+        }
+    }
+
+    // Catch up on every start, then keep replaying changes made on any instance
+    @EventListener(ApplicationReadyEvent.class)
+    public void startCatchUp() {
+        indexer.scheduleWithFixedDelay(this::catchUp, 0, catchUpIntervalMs, TimeUnit.MILLISECONDS);
+    }
+
+    @PreDestroy
+    public void close() throws IOException, InterruptedException {
+        indexer.shutdown();
+        indexer.awaitTermination(10, TimeUnit.SECONDS);
+        searcherManager.close();
+        indexWriter.close();
+        directory.close();
+    }
+
+    // Runs on the indexer thread, so live index events queue behind a pass and cannot be overwritten by it
+    void catchUp() {
+        try {
+            if (watermark == null) {
+                rebuild();
+            } else {
+                replayChanges();
+            }
+        } catch (IOException | RuntimeException e) {
+            logger.error("Search index catch-up failed: {}", e.getMessage());
+        }
+    }
+
+    private void rebuild() throws IOException {
+        logger.info("Search index has no watermark, rebuilding from entries");
+        // Changes made while the rebuild runs are at or after this point, so the next replay covers them
+        LocalDateTime startedAt = LocalDateTime.now();
+        long indexed = 0;
+        long afterId = 0;
+        List<Entry> batch;
+        do {
+            batch = entryRepository.findIndexBatchAfter(afterId, PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (Entry entry : batch) {
+                indexWriter.updateDocument(new Term(FIELD_ID, entry.getId().toString()),
+                        toDocument(entry, entry.getJournal().getUser().getId()));
+                afterId = entry.getId();
+            }
+            indexed += batch.size();
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+        advanceWatermark(startedAt);
+        indexWriter.commit();
+        searcherManager.maybeRefresh();
+        logger.info("Search index rebuilt with {} entries", indexed);
+    }
+
+    // Apply every entry changed since the watermark, re-reading an overlap window because
+    // updated_at is set before commit and instance clocks drift
+    private void replayChanges() throws IOException {
+        LocalDateTime afterUpdatedAt = watermark.minus(catchUpOverlap);
+        long afterId = 0;
+        List<Entry> batch;
+        do {
+            batch = entryRepository.findIndexChangesAfter(afterUpdatedAt, afterId,
+                    PageRequest.of(0, REBUILD_BATCH_SIZE));
+            for (Entry entry : batch) {
+                // Rows inside the overlap are seen again on every pass; only new versions need writing
+                if (!entry.getUpdatedAt().equals(appliedVersions.get(entry.getId()))) {
+                    if (entry.getDeletedAt() != null) {
+                        indexWriter.deleteDocuments(new Term(FIELD_ID, entry.getId().toString()));
+                    } else {
+                        indexWriter.updateDocument(new Term(FIELD_ID, entry.getId().toString()),
+                                toDocument(entry, entry.getJournal().getUser().getId()));
+                    }
+                    appliedVersions.put(entry.getId(), entry.getUpdatedAt());
+                }
+                afterUpdatedAt = entry.getUpdatedAt();
+                afterId = entry.getId();
+            }
+        } while (batch.size() == REBUILD_BATCH_SIZE);
+
+        if (afterUpdatedAt.isAfter(watermark)) {
+            advanceWatermark(afterUpdatedAt);
+        }
+        LocalDateTime windowStart = watermark.minus(catchUpOverlap);
+        appliedVersions.values().removeIf(updatedAt -> updatedAt.isBefore(windowStart));
+    }
+
+    // Stored with the next index commit, so the watermark never runs ahead of the changes it covers
+    private void advanceWatermark(LocalDateTime appliedUpTo) {
+        watermark = appliedUpTo;
+        indexWriter.setLiveCommitData(Map.of(WATERMARK, appliedUpTo.toString()).entrySet());
+    }
+
+    private void delete(Long entryId) {
+        try {
+            indexWriter.deleteDocuments(new Term(FIELD_ID, entryId.toString()));
+        } catch (IOException e) {
+            logger.error("Failed to remove entry {} from the search index: {}", entryId, e.getMessage());
+        }
+    }
+
+    private Document toDocument(Entry entry, Long userId) {
+        Document document = new Document();
+        document.add(new StringField(FIELD_ID, entry.getId().toString(), Field.Store.YES));
+        document.add(new NumericDocValuesField(FIELD_ID_SORT, entry.getId()));
+        document.add(new StringField(FIELD_USER, userId.toString(), Field.Store.NO));
+        document.add(new StoredField(FIELD_JOURNAL, entry.getJournal().getId()));
+        document.add(new TextField(FIELD_TITLE, entry.getTitle(), Field.Store.YES));
+        document.add(new TextField(FIELD_BODY, entry.getBody(), Field.Store.YES));
+        document.add(new StoredField(FIELD_ENTRY_DATE, entry.getEntryDate().toString()));
+        return document;
+    }
+
+    private EntrySearchResult toResult(Document document, float score, Highlighter highlighter) throws IOException {
+        String body = document.get(FIELD_BODY);
+
+        String snippet = null;
+        try {
+            snippet = highlighter.getBestFragment(analyzer, FIELD_BODY, body);
+        } catch (InvalidTokenOffsetsException e) {
+            logger.debug("Could not highlight entry {}: {}", document.get(FIELD_ID), e.getMessage());
+        }
+        if (snippet == null) {
+            // Title-only match: fall back to the start of the body
+            snippet = new SimpleHTMLEncoder().encodeText(
+                    body.length() > SNIPPET_LENGTH ? body.substring(0, SNIPPET_LENGTH) : body);
+        }
+
+        EntrySearchResult result = new EntrySearchResult();
+        result.setEntryId(Long.valueOf(document.get(FIELD_ID)));
+        result.setJournalId(document.getField(FIELD_JOURNAL).numericValue().longValue());
+        result.setTitle(document.get(FIELD_TITLE));
+        result.setEntryDate(LocalDate.parse(document.get(FIELD_ENTRY_DATE)));
+        result.setSnippet(snippet);
+        result.setScore(score);
+        return result;
+    }
+
+    private String encodeCursor(float score, long entryId) {
+        String raw = Float.floatToIntBits(score) + ":" + entryId;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private FieldDoc decodeCursor(String cursor) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = raw.indexOf(':');
+            float score = Float.intBitsToFloat(Integer.parseInt(raw.substring(0, separator)));
+            long entryId = Long.parseLong(raw.substring(separator + 1));
+            // Sort values decide the position; the max doc id keeps the previous last hit excluded
+            return new FieldDoc(Integer.MAX_VALUE, score, new Object[]{score, entryId});
+        } catch (IllegalArgumentException | IndexOutOfBoundsException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
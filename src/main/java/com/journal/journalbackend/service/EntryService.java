@@ -1,50 +1,90 @@
 package com.journal.journalbackend.service;
 
 
+import com.fasterxml.jackson.databind.ObjectMapper;
 import com.journal.journalbackend.dto.request.EntryRequest;
+import com.journal.journalbackend.dto.response.EntryHistoryResponse;
+import com.journal.journalbackend.dto.response.EntryPageResponse;
 import com.journal.journalbackend.dto.response.EntryResponse;
 import com.journal.journalbackend.dto.response.EntryVersionResponse;
 import com.journal.journalbackend.dto.response.TagResponse;
 import com.journal.journalbackend.model.*;
 import com.journal.journalbackend.repository.*;
+import jakarta.persistence.EntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
-import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
+import java.io.IOException;
+import java.io.OutputStream;
 import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 @Service
 public class EntryService {
+    private static final int MAX_PAGE_SIZE = 100;
+    // Matches the fetch size and tag batch size, so each chunk costs one tag query
+    private static final int EXPORT_CHUNK_SIZE = 100;
+
     private final EntryRepository entryRepository;
     private final EntryVersionRepository entryVersionRepository;
     private final JournalRepository journalRepository;
     private final UserRepository userRepository;
     private final TagRepository tagRepository;
+    private final EntryResponseCache entryResponseCache;
+    private final JournalOwnershipCache journalOwnershipCache;
+    private final EntrySearchService entrySearchService;
+    private final VersionBodyStore versionBodyStore;
+    private final EntryCountRollup entryCountRollup;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
 
     public EntryService(EntryRepository entryRepository,
                         JournalRepository journalRepository,
                         UserRepository userRepository,
                         TagRepository tagRepository,
-                        EntryVersionRepository entryVersionRepository) {
+                        EntryVersionRepository entryVersionRepository,
+                        EntryResponseCache entryResponseCache,
+                        JournalOwnershipCache journalOwnershipCache,
+                        EntrySearchService entrySearchService,
+                        VersionBodyStore versionBodyStore,
+                        EntryCountRollup entryCountRollup,
+                        EntityManager entityManager,
+                        ObjectMapper objectMapper) {
         this.entryRepository = entryRepository;
         this.journalRepository = journalRepository;
         this.userRepository = userRepository;
         this.tagRepository = tagRepository;
         this.entryVersionRepository = entryVersionRepository;
+        this.entryResponseCache = entryResponseCache;
+        this.journalOwnershipCache = journalOwnershipCache;
+        this.entrySearchService = entrySearchService;
+        this.versionBodyStore = versionBodyStore;
+        this.entryCountRollup = entryCountRollup;
+        this.entityManager = entityManager;
+        this.objectMapper = objectMapper;
     }
 
     // Create new entry with initial version
-    public EntryResponse createEntry(Long journalId, EntryRequest entryRequest, String username) {
-        Journal journal = getJournalIfOwnedByUser(journalId, username);
-        getUserByUsername(username);
+    @Transactional
+    public EntryResponse createEntry(Long journalId, EntryRequest entryRequest, Long userId) {
+        verifyJournalOwnership(journalId, userId);
+        // Ownership is already proven, a reference is all the new entry needs
+        Journal journal = journalRepository.getReferenceById(journalId);
 
         Entry entry = new Entry();
         entry.setTitle(entryRequest.getTitle());
@@ -56,85 +96,175 @@ public class EntryService {
         entry.setLastEditedAt(LocalDateTime.now());
 
         // Create initial version
-        EntryVersion initialVersion = createVersion(entry, entryRequest, "1.0.0", username);
+        EntryVersion initialVersion = createVersion(entry, entryRequest, "1.0.0", userId, null, null);
         entry.setCurrentVersion(initialVersion);
         entry.getVersions().add(initialVersion);
 
         Entry savedEntry = entryRepository.save(entry);
+        entryCountRollup.entryAdded(userId, savedEntry.getCreatedAt());
+        entrySearchService.index(savedEntry, userId);
         return mapToEntryResponse(savedEntry);
     }
 
-    public List<EntryVersionResponse> getEntryVersions(Long journalId, Long entryId, String username) {
+    @Transactional(readOnly = true)
+    public List<EntryVersionResponse> getEntryVersions(Long journalId, Long entryId, Long userId) {
         // Verify journal ownership
-        Journal journal = getJournalIfOwnedByUser(journalId, username);
+        verifyJournalOwnership(journalId, userId);
 
-        // Fetch entry including soft-deleted versions
-        Entry entry = entryRepository.findByIdAndJournalIdIncludeDeleted(entryId, journalId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Entry not found"));
+        // Entry may be soft-deleted, its history is still viewable
+        if (!entryRepository.existsByIdAndJournalId(entryId, journalId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Entry not found");
+        }
 
-        // Return all versions (including soft-deleted ones)
-        return entry.getVersions().stream()
-                .map(this::mapToVersionResponse)
+        // Return all versions (including soft-deleted ones) with their tags in a single query
+        List<EntryVersion> versions = entryVersionRepository.findWithTagsByEntryIdOrderByIdAsc(entryId);
+        Map<Long, String> bodies = versionBodyStore.resolveAll(versions);
+        return versions.stream()
+                .map(version -> mapToVersionResponse(version, bodies.get(version.getId())))
                 .collect(Collectors.toList());
     }
 
-    public List<EntryResponse> getEntriesByJournalId(Long journalId, String username) {
-        getJournalIfOwnedByUser(journalId, username);
-        return entryRepository.findByJournalIdAndDeletedAtIsNull(journalId).stream()
+    // List entries newest first, one keyset page at a time
+    @Transactional(readOnly = true)
+    public EntryPageResponse getEntriesPage(Long journalId, String cursor, int limit, Long userId) {
+        verifyJournalOwnership(journalId, userId);
+
+        int pageSize = Math.min(Math.max(limit, 1), MAX_PAGE_SIZE);
+        // Fetch one extra row to find out whether another page exists
+        Pageable window = PageRequest.of(0, pageSize + 1);
+
+        List<Entry> entries;
+        if (cursor == null || cursor.isBlank()) {
+            entries = entryRepository.findFirstPageByJournalId(journalId, window);
+        } else {
+            EntryCursor position = EntryCursor.decode(cursor);
+            entries = entryRepository.findPageByJournalIdAfter(
+                    journalId, position.getEntryDate(), position.getId(), window);
+        }
+
+        String next = null;
+        if (entries.size() > pageSize) {
+            entries = entries.subList(0, pageSize);
+            Entry last = entries.get(pageSize - 1);
+            next = new EntryCursor(last.getEntryDate(), last.getId()).encode();
+        }
+
+        List<EntryResponse> responses = entries.stream()
                 .map(this::mapToEntryResponse)
                 .collect(Collectors.toList());
+        return new EntryPageResponse(responses, next);
     }
 
-    public EntryResponse getEntryById(Long journalId, Long entryId, String username) {
-        getJournalIfOwnedByUser(journalId, username);
+    @Transactional(readOnly = true)
+    public EntryResponse getEntryById(Long journalId, Long entryId, Long userId) {
+        verifyJournalOwnership(journalId, userId);
+
+        // Cached responses are keyed by entry id only, so the journal must still match
+        EntryResponse cached = entryResponseCache.get(entryId);
+        if (cached != null && journalId.equals(cached.getJournalId())) {
+            return cached;
+        }
+
         Entry entry = entryRepository.findByIdAndJournalIdAndDeletedAtIsNull(entryId, journalId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Entry not found"));
-        return mapToEntryResponse(entry);
+        EntryResponse response = mapToEntryResponse(entry);
+        entryResponseCache.put(entryId, response);
+        return response;
     }
 
-    public List<EntryResponse> getRecycleBinEntriesByJournal(Long journalId, String username) {
-        getJournalIfOwnedByUser(journalId, username);
+    @Transactional(readOnly = true)
+    public List<EntryResponse> getRecycleBinEntriesByJournal(Long journalId, Long userId) {
+        verifyJournalOwnership(journalId, userId);
         return entryRepository.findByJournalIdAndDeletedAtIsNotNull(journalId).stream()
                 .map(this::mapToEntryResponse)
                 .collect(Collectors.toList());
     }
 
+    // Stream a whole journal as newline-delimited JSON, one entry (optionally with its history) per line.
+    // Entries are read through a forward-only cursor and detached chunk by chunk, so heap use
+    // does not grow with the size of the journal.
+    @Transactional(readOnly = true)
+    public void exportJournal(Long journalId, boolean includeVersions, Long userId, OutputStream out)
+            throws IOException {
+        verifyJournalOwnership(journalId, userId);
+
+        List<Entry> chunk = new ArrayList<>(EXPORT_CHUNK_SIZE);
+        try (Stream<Entry> entries = entryRepository.streamByJournalId(journalId)) {
+            Iterator<Entry> iterator = entries.iterator();
+            while (iterator.hasNext()) {
+                chunk.add(iterator.next());
+                if (chunk.size() == EXPORT_CHUNK_SIZE) {
+                    writeExportChunk(chunk, includeVersions, out);
+                    chunk.clear();
+                }
+            }
+        }
+        if (!chunk.isEmpty()) {
+            writeExportChunk(chunk, includeVersions, out);
+        }
+        out.flush();
+    }
+
+    @Transactional(readOnly = true)
+    public void verifyJournalAccess(Long journalId, Long userId) {
+        verifyJournalOwnership(journalId, userId);
+    }
+
+    // Lightweight access check for endpoints that act on an entry without returning it
+    @Transactional(readOnly = true)
+    public void verifyEntryAccess(Long journalId, Long entryId, Long userId) {
+        verifyJournalOwnership(journalId, userId);
+        if (!entryRepository.existsByIdAndJournalIdAndDeletedAtIsNull(entryId, journalId)) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Entry not found");
+        }
+    }
+
     // Update entry with versioning
-    public EntryResponse updateEntry(Long journalId, Long entryId, EntryRequest entryRequest, String username) {
+    @Transactional
+    public EntryResponse updateEntry(Long journalId, Long entryId, EntryRequest entryRequest, Long userId) {
         // Verify journal ownership
-        getJournalIfOwnedByUser(journalId, username);
-        User user = getUserByUsername(username);
+        verifyJournalOwnership(journalId, userId);
 
         Entry entry = entryRepository.findByIdAndJournalIdAndDeletedAtIsNull(entryId, journalId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Entry not found"));
 
 
         // Check for significant changes (title or body)
-        if (isSignificantChange(entry.getCurrentVersion(), entryRequest)) {
-            String newVersion = generateNextVersion(entry.getCurrentVersion().getVersionNumber());
-            EntryVersion newVersionObj = createVersion(entry, entryRequest, newVersion, username);
+        EntryVersion currentVersion = entry.getCurrentVersion();
+        String currentBody = versionBodyStore.resolve(currentVersion);
+        if (isSignificantChange(currentVersion, currentBody, entryRequest)) {
+            String newVersion = generateNextVersion(currentVersion.getVersionNumber());
+            EntryVersion newVersionObj = createVersion(entry, entryRequest, newVersion, userId,
+                    currentVersion, currentBody);
             entryVersionRepository.save(newVersionObj);
             entry.setCurrentVersion(newVersionObj);
             entry.getVersions().add(newVersionObj);
         } else {
             // Only update tags if no content change
-            updateTags(entry.getCurrentVersion(), entryRequest, user);
+            updateTags(entry.getCurrentVersion(), entryRequest, userId);
             entryVersionRepository.save(entry.getCurrentVersion());
         }
 
+        // Keep the entry row in step with its current version so reads and the search index see the latest text
+        entry.setTitle(entryRequest.getTitle());
+        entry.setBody(entryRequest.getBody());
+
         // Update entry metadata
         entry.setEntryDate(entryRequest.getEntryDate());
         entry.setUpdatedAt(LocalDateTime.now());
         entry.setLastEditedAt(LocalDateTime.now());
 
         Entry updatedEntry = entryRepository.save(entry);
+        entryResponseCache.evict(entryId);
+        entrySearchService.index(updatedEntry, userId);
         return mapToEntryResponse(updatedEntry);
     }
 
     // Soft delete entry and versions
-    public void softDeleteEntry(Long journalId, Long entryId, String username) {
+    @Transactional
+    public void softDeleteEntry(Long journalId, Long entryId, Long userId) {
         // Verify journal ownership
-        getJournalIfOwnedByUser(journalId, username);
+        verifyJournalOwnership(journalId, userId);
 
         Entry entry = entryRepository.findByIdAndJournalIdAndDeletedAtIsNull(entryId, journalId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Entry not found"));
@@ -142,6 +272,9 @@ public class EntryService {
         // Soft delete the entry
         entry.setDeletedAt(LocalDateTime.now());
         entryRepository.save(entry);
+        entryCountRollup.entryRemoved(userId, entry.getCreatedAt());
+        entryResponseCache.evict(entryId);
+        entrySearchService.remove(entryId);
 
         // Soft delete all versions
         for (EntryVersion version : entry.getVersions()) {
@@ -151,8 +284,9 @@ public class EntryService {
     }
 
     // Restore entry and versions
-    public void restoreEntry(Long journalId, Long entryId, String username) {
-        Journal journal = getJournalIfOwnedByUser(journalId, username);
+    @Transactional
+    public void restoreEntry(Long journalId, Long entryId, Long userId) {
+        verifyJournalOwnership(journalId, userId);
 
         // Using custom method that includes soft-deleted entries
         Entry entry = entryRepository.findByIdAndJournalIdIncludeDeleted(entryId, journalId)
@@ -165,6 +299,9 @@ public class EntryService {
         // Restore the entry
         entry.setDeletedAt(null);
         entryRepository.save(entry);
+        entryCountRollup.entryAdded(userId, entry.getCreatedAt());
+        entryResponseCache.evict(entryId);
+        entrySearchService.index(entry, userId);
 
         // Restore all versions
         for (EntryVersion version : entry.getVersions()) {
@@ -175,9 +312,9 @@ public class EntryService {
 
     // Restore specific version
     @Transactional
-    public EntryResponse restoreVersion(Long journalId, Long entryId, Long versionId, String username) {
+    public EntryResponse restoreVersion(Long journalId, Long entryId, Long versionId, Long userId) {
         // Verify journal ownership
-        getJournalIfOwnedByUser(journalId, username);
+        verifyJournalOwnership(journalId, userId);
 
         // Fetch entry including soft-deleted entries
         Entry entry = entryRepository.findByIdAndJournalIdIncludeDeleted(entryId, journalId)
@@ -187,6 +324,8 @@ public class EntryService {
         if (entry.getDeletedAt() != null) {
             entry.setDeletedAt(null);
             entryRepository.save(entry);
+            entryCountRollup.entryAdded(userId, entry.getCreatedAt());
+            entryResponseCache.evict(entryId);
 
             // Restore all versions
             for (EntryVersion version : entry.getVersions()) {
@@ -202,38 +341,29 @@ public class EntryService {
         // Create new version from restored content
         EntryRequest restoreRequest = new EntryRequest();
         restoreRequest.setTitle(versionToRestore.getTitle());
-        restoreRequest.setBody(versionToRestore.getBody());
+        restoreRequest.setBody(versionBodyStore.resolve(versionToRestore));
         restoreRequest.setEntryDate(entry.getEntryDate());
         restoreRequest.setTagIds(versionToRestore.getTags().stream()
                 .map(Tag::getId)
                 .collect(Collectors.toList()));
 
-        return updateEntry(journalId, entryId, restoreRequest, username);
+        return updateEntry(journalId, entryId, restoreRequest, userId);
     }
 
-    // Hard delete old versions (scheduled)
-    @Scheduled(cron = "0 0 1 * * ?") // Daily at 1 AM
     @Transactional
-    public void purgeOldVersions() {
-        LocalDateTime cutoff = LocalDateTime.now().minusDays(30);
-
-        // Find versions deleted more than 30 days ago
-        List<EntryVersion> oldVersions = entryVersionRepository.findSoftDeletedBefore(cutoff);
-        entryVersionRepository.deleteAll(oldVersions);
+    public void deleteEntry(Long journalId, Long entryId, Long userId) {
+        verifyJournalOwnership(journalId, userId); // Ensure access
 
-        // Find entries that are soft-deleted and have no versions left
-        List<Entry> orphanedEntries = entryRepository.findSoftDeletedWithNoVersions();
-        entryRepository.deleteAll(orphanedEntries);
-    }
-
-    public void deleteEntry(Long journalId, Long entryId, String username) {
-        getJournalIfOwnedByUser(journalId, username); // Ensure access
+        Entry entry = entryRepository.findByIdAndJournalIdIncludeDeleted(entryId, journalId)
+                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Entry not found"));
 
-        if (!entryRepository.existsByIdAndJournalId(entryId, journalId)) {
-            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Entry not found");
+        // Soft-deleted entries were already taken out of the monthly counts
+        if (entry.getDeletedAt() == null) {
+            entryCountRollup.entryRemoved(userId, entry.getCreatedAt());
         }
-
-        entryRepository.deleteById(entryId);
+        entryRepository.delete(entry);
+        entryResponseCache.evict(entryId);
+        entrySearchService.remove(entryId);
     }
 
 
@@ -242,43 +372,67 @@ public class EntryService {
         return entryRepository.countByUserAndDateRange(userId, start, end);
     }
 
+    // Anniversaries (at least one year back) for verified users of one shard in the given zones, whose local date is today
     @Transactional(readOnly = true)
-    public List<LocalDate> getDistinctEntryDates() {
-        return entryRepository.findDistinctEntryDates();
+    public List<AnniversaryView> getAnniversaries(LocalDate today, Collection<ZoneId> zones, int shard, int shardCount) {
+        return entryRepository.findAnniversaries(Entry.monthDayOf(today), today.minusYears(1), zones, shard, shardCount);
     }
 
 
-    // 🔁 Reused helper methods to remove repetitive logic
-    private User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
+    // Checks journal ownership against the cached owner id; the caller's id comes from the token
+    private void verifyJournalOwnership(Long journalId, Long userId) {
+        Long ownerId = journalOwnershipCache.getOwnerId(journalId);
+
+        if (ownerId == null) {
+            throw new ResponseStatusException(HttpStatus.NOT_FOUND, "Journal not found");
+        }
+        if (!ownerId.equals(userId)) {
+            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You don't have access to this journal");
+        }
     }
 
-    private Journal getJournalIfOwnedByUser(Long journalId, String username) {
-        User user = getUserByUsername(username);
-        Journal journal = journalRepository.findById(journalId)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Journal not found"));
+    // Helper method: write one export chunk and drop it from the persistence context
+    private void writeExportChunk(List<Entry> chunk, boolean includeVersions, OutputStream out) throws IOException {
+        Map<Long, List<EntryVersion>> versionsByEntry = Collections.emptyMap();
+        if (includeVersions) {
+            List<Long> entryIds = chunk.stream().map(Entry::getId).collect(Collectors.toList());
+            versionsByEntry = entryVersionRepository.findWithTagsByEntryIdInOrderByIdAsc(entryIds).stream()
+                    .collect(Collectors.groupingBy(version -> version.getEntry().getId()));
+        }
 
-        if (!journal.getUser().getId().equals(user.getId())) {
-            throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You don't have access to this journal");
+        for (Entry entry : chunk) {
+            EntryHistoryResponse record = new EntryHistoryResponse();
+            record.setCurrent(mapToEntryResponse(entry));
+            if (includeVersions) {
+                List<EntryVersion> versions = versionsByEntry.getOrDefault(entry.getId(), Collections.emptyList());
+                Map<Long, String> bodies = versionBodyStore.resolveAll(versions);
+                record.setVersions(versions.stream()
+                        .map(version -> mapToVersionResponse(version, bodies.get(version.getId())))
+                        .collect(Collectors.toList()));
+            }
+            out.write(objectMapper.writeValueAsBytes(record));
+            out.write('\n');
         }
+        out.flush();
 
-        return journal;
+        versionsByEntry.values().forEach(versions -> versions.forEach(entityManager::detach));
+        chunk.forEach(entityManager::detach);
     }
 
     // Helper method: Create new version
-    private EntryVersion createVersion(Entry entry, EntryRequest request, String versionNumber, String username) {
-        // Get the User object instead of just the username
-        User user = getUserByUsername(username);
+    private EntryVersion createVersion(Entry entry, EntryRequest request, String versionNumber, Long userId,
+                                       EntryVersion baseVersion, String baseBody) {
+        // The author only needs to be referenced, the id comes from the caller's token
+        User user = userRepository.getReferenceById(userId);
 
         EntryVersion version = new EntryVersion();
         version.setTitle(request.getTitle());
-        version.setBody(request.getBody());
+        versionBodyStore.write(version, request.getBody(), baseVersion, baseBody);
         version.setVersionNumber(versionNumber);
         version.setEntry(entry);
         version.setCreatedAt(LocalDateTime.now());
         version.setCreatedBy(user);  // Set User object here
-        version.setTags(processTags(request.getTagIds(), user));
+        version.setTags(processTags(request.getTagIds(), userId));
 
         // ✅ Fixes below
         version.setEntryDate(entry.getEntryDate()); // ensure this is not null
@@ -289,14 +443,13 @@ public class EntryService {
 
 
     // Helper method: Check for significant changes
-    private boolean isSignificantChange(EntryVersion current, EntryRequest request) {
+    private boolean isSignificantChange(EntryVersion current, String currentBody, EntryRequest request) {
         return !current.getTitle().equals(request.getTitle()) ||
-                !current.getBody().equals(request.getBody());
+                !currentBody.equals(request.getBody());
     }
 
     // Helper method: Process tags
-    private Set<Tag> processTags(List<Long> tagIds, User user) {
-        // Remove username lookup since we already have the User object
+    private Set<Tag> processTags(List<Long> tagIds, Long userId) {
         if (tagIds == null || tagIds.isEmpty()) {
             return Collections.emptySet();
         }
@@ -306,7 +459,7 @@ public class EntryService {
             Tag tag = tagRepository.findById(tagId)
                     .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Tag not found: " + tagId));
 
-            if (!tag.getUser().getId().equals(user.getId())) {
+            if (!tag.getUser().getId().equals(userId)) {
                 throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied to tag: " + tagId);
             }
             tags.add(tag);
@@ -315,11 +468,11 @@ public class EntryService {
     }
 
     // Helper method: map to version response
-    private EntryVersionResponse mapToVersionResponse(EntryVersion version) {
+    private EntryVersionResponse mapToVersionResponse(EntryVersion version, String body) {
         EntryVersionResponse response = new EntryVersionResponse();
         response.setId(version.getId());
         response.setTitle(version.getTitle());
-        response.setBody(version.getBody());
+        response.setBody(body);
         response.setVersionNumber(version.getVersionNumber());
         response.setCreatedAt(version.getCreatedAt());
         response.setUpdatedAt(version.getUpdatedAt());
@@ -335,8 +488,8 @@ public class EntryService {
     }
 
     // Helper method: Update tags for existing version
-    private void updateTags(EntryVersion version, EntryRequest request, User user) {
-        Set<Tag> newTags = processTags(request.getTagIds(), user);
+    private void updateTags(EntryVersion version, EntryRequest request, Long userId) {
+        Set<Tag> newTags = processTags(request.getTagIds(), userId);
         version.setTags(newTags);
         version.setUpdatedAt(LocalDateTime.now());
     }
@@ -0,0 +1,40 @@
+package com.journal.journalbackend.service;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Caps how many journal exports stream at once. Each export holds a pooled connection for the
+ * whole download, so without a cap a few slow clients could drain the pool for every other request.
+ */
+@Component
+public class ExportPermits {
+    private final int maxConcurrent;
+    private final Semaphore permits;
+
+    public ExportPermits(@Value("${app.export.max-concurrent:3}") int maxConcurrent, MeterRegistry meterRegistry) {
+        this.maxConcurrent = Math.max(maxConcurrent, 1);
+        this.permits = new Semaphore(this.maxConcurrent);
+        Gauge.builder("export.active", permits, semaphore -> this.maxConcurrent - semaphore.availablePermits())
+                .description("Journal exports currently streaming")
+                .register(meterRegistry);
+    }
+
+    // Take a slot or fail with 503; the caller releases it once the stream ends
+    public void acquire() {
+        if (!permits.tryAcquire()) {
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many exports in progress, try again later");
+        }
+    }
+
+    public void release() {
+        permits.release();
+    }
+}
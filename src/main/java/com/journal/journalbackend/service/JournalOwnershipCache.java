@@ -0,0 +1,83 @@
+package com.journal.journalbackend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.journal.journalbackend.repository.JournalRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Two-tier cache of journalId -> owner userId used by every journal-scoped request.
+ * L1 is a bounded in-process Caffeine cache, L2 is Redis shared by all instances,
+ * and the database is only consulted when both miss.
+ */
+@Component
+public class JournalOwnershipCache {
+    private static final Logger logger = LoggerFactory.getLogger(JournalOwnershipCache.class);
+    private static final String REDIS_KEY_PREFIX = "journal-owner:";
+
+    private final JournalRepository journalRepository;
+    private final StringRedisTemplate redisTemplate;
+    private final Duration redisTtl;
+    private final Cache<Long, Long> localCache;
+
+    public JournalOwnershipCache(JournalRepository journalRepository,
+                                 StringRedisTemplate redisTemplate,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${app.cache.journal-owner.max-size:10000}") long maxSize,
+                                 @Value("${app.cache.journal-owner.local-ttl:PT5M}") Duration localTtl,
+                                 @Value("${app.cache.journal-owner.redis-ttl:PT6H}") Duration redisTtl) {
+        this.journalRepository = journalRepository;
+        this.redisTemplate = redisTemplate;
+        this.redisTtl = redisTtl;
+        this.localCache = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfterWrite(localTtl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, localCache, "journal-ownership");
+    }
+
+    // Returns the owner's user id, or null when the journal does not exist
+    public Long getOwnerId(Long journalId) {
+        return localCache.get(journalId, this::loadOwnerId);
+    }
+
+    public void evict(Long journalId) {
+        localCache.invalidate(journalId);
+        try {
+            redisTemplate.delete(REDIS_KEY_PREFIX + journalId);
+        } catch (RuntimeException e) {
+            logger.warn("Journal ownership eviction failed in Redis for journal {}: {}", journalId, e.getMessage());
+        }
+    }
+
+    private Long loadOwnerId(Long journalId) {
+        String key = REDIS_KEY_PREFIX + journalId;
+        try {
+            String cached = redisTemplate.opsForValue().get(key);
+            if (cached != null) {
+                return Long.valueOf(cached);
+            }
+        } catch (RuntimeException e) {
+            logger.warn("Journal ownership lookup failed in Redis for journal {}: {}", journalId, e.getMessage());
+        }
+
+        Long ownerId = journalRepository.findOwnerIdById(journalId).orElse(null);
+        if (ownerId != null) {
+            try {
+                redisTemplate.opsForValue().set(key, ownerId.toString(), redisTtl);
+            } catch (RuntimeException e) {
+                logger.warn("Journal ownership write failed in Redis for journal {}: {}", journalId, e.getMessage());
+            }
+        }
+        return ownerId;
+    }
+}
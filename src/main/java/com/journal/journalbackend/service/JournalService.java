@@ -4,7 +4,6 @@ import com.journal.journalbackend.dto.request.JournalRequest;
 import com.journal.journalbackend.dto.request.JournalUpdateRequest;
 import com.journal.journalbackend.dto.response.JournalResponse;
 import com.journal.journalbackend.model.Journal;
-import com.journal.journalbackend.model.User;
 import com.journal.journalbackend.repository.JournalRepository;
 import com.journal.journalbackend.repository.UserRepository;
 import org.springframework.http.HttpStatus;
@@ -19,65 +18,63 @@ public class JournalService {
 
     private final JournalRepository journalRepository;
     private final UserRepository userRepository;
+    private final JournalOwnershipCache journalOwnershipCache;
 
-    public JournalService(JournalRepository journalRepository, UserRepository userRepository) {
+    public JournalService(JournalRepository journalRepository, UserRepository userRepository,
+                          JournalOwnershipCache journalOwnershipCache) {
         this.journalRepository = journalRepository;
         this.userRepository = userRepository;
+        this.journalOwnershipCache = journalOwnershipCache;
     }
 
-    public JournalResponse createJournal(JournalRequest journalRequest, String username) {
-        User user = getUserByUsername(username);
-
+    @Transactional
+    public JournalResponse createJournal(JournalRequest journalRequest, Long userId) {
         Journal journal = new Journal();
         journal.setTitle(journalRequest.getTitle());
-        journal.setUser(user);
+        journal.setUser(userRepository.getReferenceById(userId));
 
         return mapToJournalResponse(journalRepository.save(journal));
     }
 
-    public List<JournalResponse> getJournalsByUsername(String username) {
-        User user = getUserByUsername(username);
-
-        return journalRepository.findByUser(user).stream()
+    @Transactional(readOnly = true)
+    public List<JournalResponse> getJournalsByUserId(Long userId) {
+        return journalRepository.findByUserId(userId).stream()
                 .map(this::mapToJournalResponse)
                 .toList();
     }
 
-    public JournalResponse getJournalByIdAndUsername(Long journalId, String username) {
-        User user = getUserByUsername(username);
+    @Transactional(readOnly = true)
+    public JournalResponse getJournalByIdAndUserId(Long journalId, Long userId) {
         Journal journal = getJournalById(journalId);
 
-        verifyOwnership(journal, user);
+        verifyOwnership(journal, userId);
 
         return mapToJournalResponse(journal);
     }
 
     @Transactional
-    public JournalResponse updateJournal(Long journalId, String username, JournalUpdateRequest updateRequest) {
-        User user = getUserByUsername(username);
+    public JournalResponse updateJournal(Long journalId, Long userId, JournalUpdateRequest updateRequest) {
         Journal journal = getJournalById(journalId);
 
-        verifyOwnership(journal, user);
+        verifyOwnership(journal, userId);
 
         journal.setTitle(updateRequest.getTitle());
+        Journal savedJournal = journalRepository.save(journal);
+        journalOwnershipCache.evict(journalId);
 
-        return mapToJournalResponse(journalRepository.save(journal));
+        return mapToJournalResponse(savedJournal);
     }
 
     // 🔁 Reused methods to remove repetitive logic
 
-    private User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-    }
-
     private Journal getJournalById(Long journalId) {
         return journalRepository.findById(journalId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Journal not found"));
     }
 
-    private void verifyOwnership(Journal journal, User user) {
-        if (!journal.getUser().getId().equals(user.getId())) {
+    // The owner's id comes from the journal's foreign key, so no user row is loaded
+    private void verifyOwnership(Journal journal, Long userId) {
+        if (!journal.getUser().getId().equals(userId)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "Access denied");
         }
     }
@@ -0,0 +1,109 @@
+package com.journal.journalbackend.service;
+
+import com.journal.journalbackend.model.User;
+import com.journal.journalbackend.repository.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Runs password checks on a bounded pool of their own, so a login burst queues here
+ * instead of holding servlet threads; once the queue is full callers get a 503.
+ */
+@Service
+public class LoginService {
+    private static final Logger logger = LoggerFactory.getLogger(LoginService.class);
+
+    private final PasswordEncoder passwordEncoder;
+    private final UserRepository userRepository;
+    private final ThreadPoolExecutor hashExecutor;
+    private final Counter rejected;
+    private final Counter rehashed;
+
+    public LoginService(PasswordEncoder passwordEncoder,
+                        UserRepository userRepository,
+                        MeterRegistry meterRegistry,
+                        @Value("${app.auth.login.threads:4}") int threads,
+                        @Value("${app.auth.login.queue-capacity:64}") int queueCapacity) {
+        this.passwordEncoder = passwordEncoder;
+        this.userRepository = userRepository;
+
+        AtomicInteger threadNumber = new AtomicInteger();
+        int poolSize = Math.max(threads, 1);
+        this.hashExecutor = new ThreadPoolExecutor(poolSize, poolSize, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(Math.max(queueCapacity, 1)), runnable -> {
+            Thread thread = new Thread(runnable, "login-hash-" + threadNumber.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        }, new ThreadPoolExecutor.AbortPolicy());
+
+        this.rejected = Counter.builder("auth.login.rejected")
+                .description("Logins turned away because the password-check pool was saturated")
+                .register(meterRegistry);
+        this.rehashed = Counter.builder("auth.login.rehashed")
+                .description("Stored password hashes upgraded to the current bcrypt cost")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.queue", hashExecutor, executor -> executor.getQueue().size())
+                .description("Password checks waiting for a hashing thread")
+                .register(meterRegistry);
+        Gauge.builder("auth.login.active", hashExecutor, ThreadPoolExecutor::getActiveCount)
+                .register(meterRegistry);
+    }
+
+    // Check the password off the request thread; a match on an outdated cost also rewrites the stored hash
+    public CompletableFuture<Boolean> checkPassword(User user, String rawPassword) {
+        return submit(() -> {
+            String storedHash = user.getPasswordHash();
+            boolean matches = passwordEncoder.matches(rawPassword, storedHash);
+            if (matches && passwordEncoder.upgradeEncoding(storedHash)) {
+                rehash(user, rawPassword, storedHash);
+            }
+            return matches;
+        });
+    }
+
+    // Run any other password-checking work (such as the admin login) on the same bounded pool
+    public <T> CompletableFuture<T> submit(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, hashExecutor);
+        } catch (RejectedExecutionException e) {
+            rejected.increment();
+            throw new ResponseStatusException(HttpStatus.SERVICE_UNAVAILABLE,
+                    "Too many logins in progress, please try again shortly");
+        }
+    }
+
+    // Helper method: store a hash at the current cost unless the password changed meanwhile
+    private void rehash(User user, String rawPassword, String storedHash) {
+        try {
+            if (userRepository.updatePasswordHash(user.getId(), storedHash, passwordEncoder.encode(rawPassword)) > 0) {
+                rehashed.increment();
+            }
+        } catch (RuntimeException e) {
+            // The login itself succeeded; the upgrade is retried on the next one
+            logger.warn("Could not upgrade the password hash of user {}: {}", user.getId(), e.getMessage());
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        hashExecutor.shutdown();
+        hashExecutor.awaitTermination(10, TimeUnit.SECONDS);
+    }
+}
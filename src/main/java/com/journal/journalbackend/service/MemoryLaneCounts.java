@@ -0,0 +1,40 @@
+package com.journal.journalbackend.service;
+
+import com.journal.journalbackend.messaging.ReminderRecipient;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Memory-lane entry counts for every user in one time zone.
+ * Counts are kept per user in a long[] indexed by months ago (1..11).
+ */
+public class MemoryLaneCounts {
+    public static final int MAX_MONTHS_AGO = 11;
+
+    private final LocalDate[] dates; // Local date for each months-ago slot, null when that day does not exist
+    private final Map<Long, ReminderRecipient> recipients = new HashMap<>();
+    private final Map<Long, long[]> counts = new HashMap<>();
+
+    public MemoryLaneCounts(LocalDate[] dates) {
+        this.dates = dates;
+    }
+
+    void add(ReminderRecipient recipient, int monthsAgo, long count) {
+        recipients.putIfAbsent(recipient.getUserId(), recipient);
+        counts.computeIfAbsent(recipient.getUserId(), id -> new long[MAX_MONTHS_AGO + 1])[monthsAgo] += count;
+    }
+
+    public LocalDate getDate(int monthsAgo) {
+        return dates[monthsAgo];
+    }
+
+    public Map<Long, ReminderRecipient> getRecipients() {
+        return recipients;
+    }
+
+    public Map<Long, long[]> getCounts() {
+        return counts;
+    }
+}
@@ -0,0 +1,64 @@
+package com.journal.journalbackend.service;
+
+import com.journal.journalbackend.messaging.ReminderRecipient;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * Keyset walk over reminder recipients in ascending user id, one bounded chunk per query.
+ * Only the current chunk is held in memory and no transaction stays open between chunks.
+ */
+public class RecipientChunks implements Iterable<List<ReminderRecipient>> {
+
+    @FunctionalInterface
+    interface ChunkQuery {
+        List<ReminderRecipient> fetchAfter(long afterId, Pageable page);
+    }
+
+    private final ChunkQuery query;
+    private final int chunkSize;
+
+    RecipientChunks(ChunkQuery query, int chunkSize) {
+        this.query = query;
+        this.chunkSize = chunkSize;
+    }
+
+    @Override
+    public Iterator<List<ReminderRecipient>> iterator() {
+        return new Iterator<>() {
+            private long afterId = 0;
+            private List<ReminderRecipient> next;
+            private boolean exhausted;
+
+            @Override
+            public boolean hasNext() {
+                if (next == null && !exhausted) {
+                    next = query.fetchAfter(afterId, PageRequest.of(0, chunkSize));
+                    if (next.isEmpty()) {
+                        exhausted = true;
+                        next = null;
+                    } else {
+                        afterId = next.get(next.size() - 1).getUserId();
+                        // A short chunk is the last one, skip the extra empty query
+                        exhausted = next.size() < chunkSize;
+                    }
+                }
+                return next != null;
+            }
+
+            @Override
+            public List<ReminderRecipient> next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                List<ReminderRecipient> chunk = next;
+                next = null;
+                return chunk;
+            }
+        };
+    }
+}
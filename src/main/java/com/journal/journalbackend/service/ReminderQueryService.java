@@ -0,0 +1,88 @@
+package com.journal.journalbackend.service;
+
+import com.journal.journalbackend.messaging.ReminderRecipient;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Set-based reminder lookups that cover every user of a time zone in a single statement,
+ * replacing per-user count queries in the reminder schedulers.
+ */
+@Service
+public class ReminderQueryService {
+    private final EntityManager entityManager;
+
+    public ReminderQueryService(EntityManager entityManager) {
+        this.entityManager = entityManager;
+    }
+
+    // Entries created on today's day-of-month 1..11 months ago, per verified user of one shard in the zone
+    @Transactional(readOnly = true)
+    public MemoryLaneCounts countMemoryLaneEntries(ZoneId zone, LocalDate today, int shard, int shardCount) {
+        LocalDate[] dates = new LocalDate[MemoryLaneCounts.MAX_MONTHS_AGO + 1];
+        List<Integer> windows = new ArrayList<>();
+        for (int monthsAgo = 1; monthsAgo <= MemoryLaneCounts.MAX_MONTHS_AGO; monthsAgo++) {
+            LocalDate month = today.minusMonths(monthsAgo);
+            // Skip months that have no such day (e.g. the 31st)
+            if (today.getDayOfMonth() <= month.lengthOfMonth()) {
+                dates[monthsAgo] = month.withDayOfMonth(today.getDayOfMonth());
+                windows.add(monthsAgo);
+            }
+        }
+
+        MemoryLaneCounts result = new MemoryLaneCounts(dates);
+        if (windows.isEmpty()) {
+            return result;
+        }
+
+        // Label each entry with the window its creation time falls in, then count per (user, window)
+        StringBuilder label = new StringBuilder("CASE");
+        StringBuilder inAnyWindow = new StringBuilder();
+        for (int monthsAgo : windows) {
+            String range = "e.created_at >= :s" + monthsAgo + " AND e.created_at < :e" + monthsAgo;
+            label.append(" WHEN ").append(range).append(" THEN ").append(monthsAgo);
+            inAnyWindow.append(inAnyWindow.length() == 0 ? "(" : " OR (").append(range).append(")");
+        }
+        label.append(" END");
+
+        String sql = "SELECT t.user_id, t.email, t.months_ago, COUNT(*) FROM (" +
+                "SELECT u.id AS user_id, u.email AS email, " + label + " AS months_ago " +
+                "FROM entries e JOIN journals j ON j.id = e.journal_id JOIN users u ON u.id = j.user_id " +
+                "WHERE u.is_verified = TRUE AND u.timezone = :zone AND MOD(u.id, :shardCount) = :shard " +
+                "AND e.deleted_at IS NULL " +
+                "AND (" + inAnyWindow + ")" +
+                ") t GROUP BY t.user_id, t.email, t.months_ago";
+
+        Query query = entityManager.createNativeQuery(sql);
+        query.setParameter("zone", zone.getId());
+        query.setParameter("shard", shard);
+        query.setParameter("shardCount", shardCount);
+        for (int monthsAgo : windows) {
+            LocalDate date = dates[monthsAgo];
+            query.setParameter("s" + monthsAgo, toUtc(date, zone));
+            query.setParameter("e" + monthsAgo, toUtc(date.plusDays(1), zone));
+        }
+
+        @SuppressWarnings("unchecked")
+        List<Object[]> rows = query.getResultList();
+        for (Object[] row : rows) {
+            ReminderRecipient recipient = new ReminderRecipient(((Number) row[0]).longValue(), (String) row[1], zone);
+            result.add(recipient, ((Number) row[2]).intValue(), ((Number) row[3]).longValue());
+        }
+        return result;
+    }
+
+    // Helper method: start of a local day in the zone, as the UTC timestamp stored in created_at
+    private LocalDateTime toUtc(LocalDate date, ZoneId zone) {
+        return date.atStartOfDay(zone).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+}
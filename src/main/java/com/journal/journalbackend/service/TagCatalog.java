@@ -0,0 +1,117 @@
+package com.journal.journalbackend.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.journal.journalbackend.dto.response.TagResponse;
+import com.journal.journalbackend.repository.TagRepository;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Per-user tag names held in memory for autocomplete, sorted by lower-cased name so prefix
+ * matches are a binary search away. Users are loaded on first search and bounded by an LRU.
+ */
+@Component
+public class TagCatalog {
+    private final TagRepository tagRepository;
+    private final Cache<Long, UserTags> catalogs;
+
+    private record TagEntry(Long id, String name, String key, LocalDateTime createdAt) {
+    }
+
+    // Tags of one user, ordered by key
+    private record UserTags(TagEntry[] tags, String[] keys) {
+    }
+
+    public TagCatalog(TagRepository tagRepository,
+                      MeterRegistry meterRegistry,
+                      @Value("${app.cache.tags.max-users:10000}") long maxUsers,
+                      @Value("${app.cache.tags.ttl:PT10M}") Duration ttl) {
+        this.tagRepository = tagRepository;
+        // The TTL bounds how long another instance can miss a tag created elsewhere
+        this.catalogs = Caffeine.newBuilder()
+                .maximumSize(maxUsers)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, catalogs, "tag-catalog");
+    }
+
+    // Prefix matches first (shortest, then alphabetical), then other substring matches by match position
+    public List<TagResponse> search(Long userId, String query) {
+        UserTags userTags = catalogs.get(userId, this::load);
+        String key = query == null ? "" : query.trim().toLowerCase(Locale.ROOT);
+
+        List<TagEntry> prefixMatches = new ArrayList<>();
+        int first = lowerBound(userTags.keys(), key);
+        for (int i = first; i < userTags.keys().length && userTags.keys()[i].startsWith(key); i++) {
+            prefixMatches.add(userTags.tags()[i]);
+        }
+        prefixMatches.sort(Comparator.comparingInt((TagEntry tag) -> tag.key().length())
+                .thenComparing(TagEntry::key));
+
+        List<TagEntry> substringMatches = new ArrayList<>();
+        if (!key.isEmpty()) {
+            for (TagEntry tag : userTags.tags()) {
+                if (tag.key().indexOf(key) > 0) {
+                    substringMatches.add(tag);
+                }
+            }
+            substringMatches.sort(Comparator.comparingInt((TagEntry tag) -> tag.key().indexOf(key))
+                    .thenComparingInt(tag -> tag.key().length())
+                    .thenComparing(TagEntry::key));
+        }
+
+        List<TagResponse> results = new ArrayList<>(prefixMatches.size() + substringMatches.size());
+        prefixMatches.forEach(tag -> results.add(toResponse(tag)));
+        substringMatches.forEach(tag -> results.add(toResponse(tag)));
+        return results;
+    }
+
+    public void evict(Long userId) {
+        AfterCommit.invalidate(() -> catalogs.invalidate(userId));
+    }
+
+    private UserTags load(Long userId) {
+        TagEntry[] tags = tagRepository.findByUserId(userId).stream()
+                .map(tag -> new TagEntry(tag.getId(), tag.getName(),
+                        tag.getName().toLowerCase(Locale.ROOT), tag.getCreatedAt()))
+                .sorted(Comparator.comparing(TagEntry::key))
+                .toArray(TagEntry[]::new);
+        String[] keys = Arrays.stream(tags).map(TagEntry::key).toArray(String[]::new);
+        return new UserTags(tags, keys);
+    }
+
+    // Helper method: index of the first key not less than the given one
+    private static int lowerBound(String[] keys, String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (keys[mid].compareTo(key) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static TagResponse toResponse(TagEntry tag) {
+        TagResponse response = new TagResponse();
+        response.setId(tag.id());
+        response.setName(tag.name());
+        response.setCreatedAt(tag.createdAt());
+        return response;
+    }
+}
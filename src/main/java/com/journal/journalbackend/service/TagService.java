@@ -5,12 +5,12 @@ import com.journal.journalbackend.dto.response.EntryResponse;
 import com.journal.journalbackend.dto.response.TagResponse;
 import com.journal.journalbackend.model.Entry;
 import com.journal.journalbackend.model.Tag;
-import com.journal.journalbackend.model.User;
 import com.journal.journalbackend.repository.EntryRepository;
 import com.journal.journalbackend.repository.TagRepository;
 import com.journal.journalbackend.repository.UserRepository;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalDateTime;
@@ -22,51 +22,53 @@ public class TagService {
     private final TagRepository tagRepository;
     private final UserRepository userRepository;
     private final EntryRepository entryRepository;
+    private final EntryResponseCache entryResponseCache;
+    private final TagCatalog tagCatalog;
 
-    public TagService(TagRepository tagRepository, UserRepository userRepository, EntryRepository entryRepository) {
+    public TagService(TagRepository tagRepository, UserRepository userRepository, EntryRepository entryRepository,
+                      EntryResponseCache entryResponseCache, TagCatalog tagCatalog) {
         this.tagRepository = tagRepository;
         this.userRepository = userRepository;
         this.entryRepository = entryRepository;
+        this.entryResponseCache = entryResponseCache;
+        this.tagCatalog = tagCatalog;
     }
 
-    public TagResponse createTag(TagRequest tagRequest, String username) {
-        User user = getUserByUsername(username);
-
+    @Transactional
+    public TagResponse createTag(TagRequest tagRequest, Long userId) {
         // Check if tag already exists for this user
-        if (tagRepository.existsByNameAndUserId(tagRequest.getName(), user.getId())) {
+        if (tagRepository.existsByNameAndUserId(tagRequest.getName(), userId)) {
             throw new ResponseStatusException(HttpStatus.CONFLICT, "Tag already exists");
         }
 
         Tag tag = new Tag();
         tag.setName(tagRequest.getName());
-        tag.setUser(user);
+        tag.setUser(userRepository.getReferenceById(userId));
         tag.setCreatedAt(LocalDateTime.now());
 
         Tag savedTag = tagRepository.save(tag);
+        tagCatalog.evict(userId);
         return mapToTagResponse(savedTag);
     }
 
-    public List<TagResponse> getAllTagsForUser(String username) {
-        User user = getUserByUsername(username);
-        return tagRepository.findByUserId(user.getId()).stream()
+    @Transactional(readOnly = true)
+    public List<TagResponse> getAllTagsForUser(Long userId) {
+        return tagRepository.findByUserId(userId).stream()
                 .map(this::mapToTagResponse)
                 .collect(Collectors.toList());
     }
 
-    public List<TagResponse> searchTagsByName(String nameQuery, String username) {
-        User user = getUserByUsername(username);
-        return tagRepository.findByUserIdAndNameContainingIgnoreCase(user.getId(), nameQuery).stream()
-                .map(this::mapToTagResponse)
-                .collect(Collectors.toList());
+    // Autocomplete is served from the in-memory catalog, the database is only read on a catalog miss
+    public List<TagResponse> searchTagsByName(String nameQuery, Long userId) {
+        return tagCatalog.search(userId, nameQuery);
     }
 
-    public List<EntryResponse> getEntriesByTag(Long tagId, String username) {
-        User user = getUserByUsername(username);
-
+    @Transactional(readOnly = true)
+    public List<EntryResponse> getEntriesByTag(Long tagId, Long userId) {
         Tag tag = tagRepository.findById(tagId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Tag not found"));
 
-        if (!tag.getUser().getId().equals(user.getId())) {
+        if (!tag.getUser().getId().equals(userId)) {
             throw new ResponseStatusException(HttpStatus.FORBIDDEN, "You don't have access to this tag");
         }
 
@@ -75,7 +77,8 @@ public class TagService {
                 .collect(Collectors.toList());
     }
 
-    public List<TagResponse> getTagsForEntry(Long entryId, String username) {
+    @Transactional(readOnly = true)
+    public List<TagResponse> getTagsForEntry(Long entryId, Long userId) {
         Entry entry = entryRepository.findById(entryId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Entry not found"));
 
@@ -85,7 +88,8 @@ public class TagService {
                 .collect(Collectors.toList());
     }
 
-    public void addTagsToEntry(Long entryId, List<Long> tagIds, String username) {
+    @Transactional
+    public void addTagsToEntry(Long entryId, List<Long> tagIds, Long userId) {
         Entry entry = entryRepository.findById(entryId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Entry not found"));
 
@@ -95,9 +99,11 @@ public class TagService {
 
         entry.getTags().addAll(tagsToAdd);
         entryRepository.save(entry);
+        entryResponseCache.evict(entryId);
     }
 
-    public void removeTagFromEntry(Long entryId, Long tagId, String username) {
+    @Transactional
+    public void removeTagFromEntry(Long entryId, Long tagId, Long userId) {
         Entry entry = entryRepository.findById(entryId)
                 .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "Entry not found"));
 
@@ -106,6 +112,7 @@ public class TagService {
 
         entry.getTags().remove(tag);
         entryRepository.save(entry);
+        entryResponseCache.evict(entryId);
     }
 
 
@@ -140,9 +147,4 @@ public class TagService {
 
         return response;
     }
-
-    private User getUserByUsername(String username) {
-        return userRepository.findByUsername(username)
-                .orElseThrow(() -> new ResponseStatusException(HttpStatus.NOT_FOUND, "User not found"));
-    }
 }
@@ -1,6 +1,5 @@
 package com.journal.journalbackend.service;
 
-import com.journal.journalbackend.config.EmailConfig;
 import com.journal.journalbackend.dto.request.ChangePasswordRequest;
 import com.journal.journalbackend.dto.request.ForgotPasswordRequest;
 import com.journal.journalbackend.dto.request.ResetPasswordRequest;
@@ -11,6 +10,7 @@ import com.journal.journalbackend.model.VerificationToken;
 import com.journal.journalbackend.repository.PasswordResetTokenRepository;
 import com.journal.journalbackend.repository.UserRepository;
 import com.journal.journalbackend.repository.VerificationTokenRepository;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
@@ -19,6 +19,7 @@ import org.springframework.transaction.annotation.Transactional;
 import java.security.SecureRandom;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
@@ -28,24 +29,35 @@ public class UserService {
     private final UserRepository userRepository;
     private final VerificationTokenRepository verificationTokenRepository;
     private final PasswordEncoder passwordEncoder;
-    private final EmailConfig emailConfig;
+    private final EmailOutboxService emailOutboxService;
     private final PasswordResetTokenRepository passwordResetTokenRepository;
+    private final CustomUserDetailsService userDetailsService;
+    private final int recipientChunkSize;
 
     public UserService(
             UserRepository userRepository,
             VerificationTokenRepository verificationTokenRepository,
             PasswordEncoder passwordEncoder,
-            EmailConfig emailConfig,
-            PasswordResetTokenRepository passwordResetTokenRepository) {
+            EmailOutboxService emailOutboxService,
+            PasswordResetTokenRepository passwordResetTokenRepository,
+            CustomUserDetailsService userDetailsService,
+            @Value("${app.reminders.user-chunk-size:1000}") int recipientChunkSize) {
         this.userRepository = userRepository;
         this.verificationTokenRepository = verificationTokenRepository;
         this.passwordEncoder = passwordEncoder;
-        this.emailConfig = emailConfig;
+        this.emailOutboxService = emailOutboxService;
         this.passwordResetTokenRepository = passwordResetTokenRepository;
+        this.userDetailsService = userDetailsService;
+        this.recipientChunkSize = Math.max(recipientChunkSize, 1);
     }
 
     @Transactional
     public User registerNewUser(UserRegistrationRequest registrationDTO) {
+        // The admin name carries the actuator role, so it can never be registered
+        if (CustomUserDetailsService.ADMIN_USERNAME.equalsIgnoreCase(registrationDTO.getUsername())) {
+            throw new RuntimeException("Username is not available");
+        }
+
         // Check if email already exists
         if (userRepository.existsByEmail(registrationDTO.getEmail())) {
             throw new RuntimeException("Email already in use");
@@ -74,8 +86,8 @@ public class UserService {
         );
         verificationTokenRepository.save(verificationToken);
 
-        // Send verification email
-        emailConfig.sendVerificationEmail(savedUser.getEmail(), tokenString, savedUser.getFirstName());
+        // Queue verification email, it is sent once this transaction commits
+        emailOutboxService.enqueueVerificationEmail(savedUser.getEmail(), tokenString, savedUser.getFirstName());
 
         return savedUser;
     }
@@ -99,6 +111,7 @@ public class UserService {
         User user = verificationToken.getUser();
         user.setVerified(true);
         userRepository.save(user);
+        userDetailsService.evict(user.getUsername());
 
         return true;
     }
@@ -116,8 +129,8 @@ public class UserService {
         if (token != null) {
             token.setToken(generateVerificationToken());
             token.setExpiryDate(LocalDateTime.now().plusMinutes(1)); // Set expiry to 2 minutes
-            // Send verification email
-            emailConfig.sendVerificationEmail(savedUser.getEmail(), token.getToken(), savedUser.getFirstName());
+            // Queue verification email
+            emailOutboxService.enqueueVerificationEmail(savedUser.getEmail(), token.getToken(), savedUser.getFirstName());
 
             return verificationTokenRepository.save(token);
         } else {
@@ -166,6 +179,7 @@ public class UserService {
         // Update password
         user.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        userDetailsService.evict(user.getUsername());
 
         return true;
     }
@@ -202,8 +216,8 @@ public class UserService {
             passwordResetTokenRepository.save(resetToken);
         }
 
-        // Send reset email
-        emailConfig.sendPasswordResetEmail(user.getEmail(), token, user.getFirstName());
+        // Queue reset email
+        emailOutboxService.enqueuePasswordResetEmail(user.getEmail(), token, user.getFirstName());
     }
 
     @Transactional
@@ -237,6 +251,7 @@ public class UserService {
         // Update password
         user.setPasswordHash(passwordEncoder.encode(request.getNewPassword()));
         userRepository.save(user);
+        userDetailsService.evict(user.getUsername());
 
         // Mark token as used
         resetToken.setUsed(true);
@@ -252,8 +267,16 @@ public class UserService {
         return UUID.randomUUID().toString();
     }
 
-    public List<User> getAllVerifiedUsers() {
-        return userRepository.findByIsVerifiedTrue();
+    // Verified users of one shard (user id modulo shardCount) in the given zones
+    public RecipientChunks getVerifiedRecipientsInTimezones(Collection<ZoneId> timezones, int shard, int shardCount) {
+        return new RecipientChunks(
+                (afterId, page) -> userRepository.findVerifiedRecipientsInZonesAfter(
+                        timezones, shard, shardCount, afterId, page),
+                recipientChunkSize);
+    }
+
+    public List<ZoneId> getVerifiedUserTimezones() {
+        return userRepository.findVerifiedUserTimezones();
     }
 
 
@@ -0,0 +1,135 @@
+package com.journal.journalbackend.service;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Copy/insert delta encoding between two versions of an entry body.
+ * Offsets and lengths are counted in code points so a delta never splits a surrogate pair.
+ *
+ * Encoded form is a sequence of operations:
+ *   C{start},{length};   copy code points from the base body
+ *   I{length}:{text}     insert literal text
+ */
+final class VersionBodyDelta {
+    private static final int BLOCK = 16;
+    private static final long HASH_BASE = 1_000_003L;
+    private static final long HASH_TOP;
+
+    static {
+        long top = 1;
+        for (int i = 1; i < BLOCK; i++) {
+            top *= HASH_BASE;
+        }
+        HASH_TOP = top;
+    }
+
+    private VersionBodyDelta() {
+    }
+
+    static String encode(String base, String target) {
+        int[] source = base.codePoints().toArray();
+        int[] text = target.codePoints().toArray();
+        StringBuilder delta = new StringBuilder();
+
+        // Index every block-aligned window of the base body by its hash
+        Map<Long, Integer> blocks = new HashMap<>();
+        for (int start = 0; start + BLOCK <= source.length; start += BLOCK) {
+            blocks.putIfAbsent(hash(source, start), start);
+        }
+
+        int pending = 0; // start of target text not yet covered by an operation
+        int pos = 0;
+        long rolling = pos + BLOCK <= text.length ? hash(text, pos) : 0;
+        while (pos + BLOCK <= text.length) {
+            Integer match = blocks.get(rolling);
+            if (match != null && regionMatches(source, match, text, pos)) {
+                // Grow the match in both directions as far as the texts agree
+                int sourceStart = match;
+                int textStart = pos;
+                while (textStart > pending && sourceStart > 0 && source[sourceStart - 1] == text[textStart - 1]) {
+                    sourceStart--;
+                    textStart--;
+                }
+                int sourceEnd = match + BLOCK;
+                int textEnd = pos + BLOCK;
+                while (sourceEnd < source.length && textEnd < text.length && source[sourceEnd] == text[textEnd]) {
+                    sourceEnd++;
+                    textEnd++;
+                }
+
+                appendInsert(delta, text, pending, textStart);
+                delta.append('C').append(sourceStart).append(',').append(sourceEnd - sourceStart).append(';');
+
+                pending = textEnd;
+                pos = textEnd;
+                if (pos + BLOCK <= text.length) {
+                    rolling = hash(text, pos);
+                }
+            } else {
+                if (pos + BLOCK < text.length) {
+                    rolling = (rolling - text[pos] * HASH_TOP) * HASH_BASE + text[pos + BLOCK];
+                }
+                pos++;
+            }
+        }
+        appendInsert(delta, text, pending, text.length);
+        return delta.toString();
+    }
+
+    static String apply(String base, String delta) {
+        int[] source = base.codePoints().toArray();
+        StringBuilder body = new StringBuilder(base.length());
+        int pos = 0;
+        while (pos < delta.length()) {
+            char op = delta.charAt(pos);
+            if (op == 'C') {
+                int comma = delta.indexOf(',', pos);
+                int end = delta.indexOf(';', comma);
+                int start = Integer.parseInt(delta, pos + 1, comma, 10);
+                int length = Integer.parseInt(delta, comma + 1, end, 10);
+                for (int i = start; i < start + length; i++) {
+                    body.appendCodePoint(source[i]);
+                }
+                pos = end + 1;
+            } else if (op == 'I') {
+                int colon = delta.indexOf(':', pos);
+                int length = Integer.parseInt(delta, pos + 1, colon, 10);
+                int end = delta.offsetByCodePoints(colon + 1, length);
+                body.append(delta, colon + 1, end);
+                pos = end;
+            } else {
+                throw new IllegalStateException("Corrupt version delta at offset " + pos);
+            }
+        }
+        return body.toString();
+    }
+
+    // Helper method: emit an insert for text[from, to) if it is not empty
+    private static void appendInsert(StringBuilder delta, int[] text, int from, int to) {
+        if (from >= to) {
+            return;
+        }
+        delta.append('I').append(to - from).append(':');
+        for (int i = from; i < to; i++) {
+            delta.appendCodePoint(text[i]);
+        }
+    }
+
+    private static long hash(int[] values, int start) {
+        long hash = 0;
+        for (int i = start; i < start + BLOCK; i++) {
+            hash = hash * HASH_BASE + values[i];
+        }
+        return hash;
+    }
+
+    private static boolean regionMatches(int[] source, int sourceStart, int[] text, int textStart) {
+        for (int i = 0; i < BLOCK; i++) {
+            if (source[sourceStart + i] != text[textStart + i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
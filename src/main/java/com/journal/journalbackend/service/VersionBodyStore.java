@@ -0,0 +1,87 @@
+package com.journal.journalbackend.service;
+
+import com.journal.journalbackend.model.EntryVersion;
+import com.journal.journalbackend.repository.EntryVersionRepository;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Stores version bodies as periodic full snapshots with copy/insert deltas in between,
+ * so each edit costs roughly the size of the change rather than the size of the entry.
+ * Every delta is taken against the version that was current when it was written.
+ */
+@Component
+public class VersionBodyStore {
+    private final EntryVersionRepository entryVersionRepository;
+    private final int snapshotInterval;
+
+    public VersionBodyStore(EntryVersionRepository entryVersionRepository,
+                            @Value("${app.versions.snapshot-interval:10}") int snapshotInterval) {
+        this.entryVersionRepository = entryVersionRepository;
+        this.snapshotInterval = Math.max(snapshotInterval, 1);
+    }
+
+    // Set the body of a new version, as a delta against base when that is worthwhile
+    public void write(EntryVersion version, String body, EntryVersion base, String baseBody) {
+        if (base != null && base.getId() != null && base.getChainDepth() + 1 < snapshotInterval) {
+            String delta = VersionBodyDelta.encode(baseBody, body);
+            if (delta.length() < body.length()) {
+                version.setBody("");
+                version.setBodyDelta(delta);
+                version.setBaseVersionId(base.getId());
+                version.setChainDepth(base.getChainDepth() + 1);
+                return;
+            }
+        }
+
+        version.setBody(body);
+        version.setBodyDelta(null);
+        version.setBaseVersionId(null);
+        version.setChainDepth(0);
+    }
+
+    // Rebuild the full body of a single version by walking its base links back to the nearest snapshot,
+    // which is at most snapshot-interval rows away
+    public String resolve(EntryVersion version) {
+        Deque<EntryVersion> chain = new ArrayDeque<>();
+        EntryVersion current = version;
+        while (!current.isSnapshot()) {
+            chain.push(current);
+            Long baseVersionId = current.getBaseVersionId();
+            current = entryVersionRepository.findById(baseVersionId)
+                    .orElseThrow(() -> new IllegalStateException("Base version " + baseVersionId + " is missing"));
+        }
+
+        String body = current.getBody();
+        while (!chain.isEmpty()) {
+            body = VersionBodyDelta.apply(body, chain.pop().getBodyDelta());
+        }
+        return body;
+    }
+
+    // Rebuild bodies for versions of one entry given in ascending id order; each base is resolved once
+    public Map<Long, String> resolveAll(List<EntryVersion> versions) {
+        Map<Long, String> bodies = new HashMap<>();
+        for (EntryVersion version : versions) {
+            if (version.isSnapshot()) {
+                bodies.put(version.getId(), version.getBody());
+                continue;
+            }
+            String baseBody = bodies.get(version.getBaseVersionId());
+            if (baseBody == null) {
+                // Base is outside the given list, walk the stored chain instead
+                baseBody = resolve(entryVersionRepository.findById(version.getBaseVersionId())
+                        .orElseThrow(() -> new IllegalStateException(
+                                "Base version " + version.getBaseVersionId() + " is missing")));
+            }
+            bodies.put(version.getId(), VersionBodyDelta.apply(baseBody, version.getBodyDelta()));
+        }
+        return bodies;
+    }
+}
@@ -0,0 +1,193 @@
+package com.journal.journalbackend.messaging.consumer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.icegreen.greenmail.Managers;
+import com.icegreen.greenmail.imap.ImapHostManager;
+import com.icegreen.greenmail.mail.MailAddress;
+import com.icegreen.greenmail.server.AbstractServer;
+import com.icegreen.greenmail.smtp.SmtpManager;
+import com.icegreen.greenmail.smtp.SmtpState;
+import com.icegreen.greenmail.user.UserManager;
+import com.icegreen.greenmail.util.GreenMail;
+import com.icegreen.greenmail.util.ServerSetup;
+import com.icegreen.greenmail.util.ServerSetupTest;
+import com.journal.journalbackend.config.EmailConfig;
+import com.journal.journalbackend.messaging.ReminderDigestMessage;
+import com.rabbitmq.client.Channel;
+import jakarta.mail.MessagingException;
+import jakarta.mail.Transport;
+import jakarta.mail.internet.MimeMessage;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.core.Message;
+import org.springframework.amqp.core.MessageProperties;
+import org.springframework.amqp.support.converter.Jackson2JsonMessageConverter;
+import org.springframework.mail.javamail.JavaMailSenderImpl;
+import org.thymeleaf.spring6.SpringTemplateEngine;
+import org.thymeleaf.templatemode.TemplateMode;
+import org.thymeleaf.templateresolver.ClassLoaderTemplateResolver;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+// Delivers digest batches to a real (in-process) SMTP server
+class ReminderConsumerTest {
+    private static final String REJECTED_DOMAIN = "@rejected.example.com";
+
+    private final Jackson2JsonMessageConverter converter = new Jackson2JsonMessageConverter(new ObjectMapper()
+            .registerModule(new JavaTimeModule())
+            .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS));
+
+    private GreenMail greenMail;
+    private AtomicInteger smtpSessions;
+    private ReminderRetryRouter retryRouter;
+    private Channel channel;
+    private ReminderConsumer consumer;
+
+    @BeforeEach
+    void setUp() {
+        greenMail = new RejectingGreenMail(ServerSetupTest.SMTP.dynamicPort());
+        greenMail.start();
+
+        smtpSessions = new AtomicInteger();
+        JavaMailSenderImpl mailSender = new JavaMailSenderImpl() {
+            @Override
+            protected Transport connectTransport() throws MessagingException {
+                smtpSessions.incrementAndGet();
+                return super.connectTransport();
+            }
+        };
+        mailSender.setHost("localhost");
+        mailSender.setPort(greenMail.getSmtp().getPort());
+        Properties mailProperties = new Properties();
+        mailProperties.setProperty("mail.smtp.from", "reminders@example.com");
+        mailSender.setJavaMailProperties(mailProperties);
+
+        ClassLoaderTemplateResolver resolver = new ClassLoaderTemplateResolver();
+        resolver.setPrefix("templates/");
+        resolver.setSuffix(".html");
+        resolver.setTemplateMode(TemplateMode.HTML);
+        SpringTemplateEngine templateEngine = new SpringTemplateEngine();
+        templateEngine.setTemplateResolver(resolver);
+
+        retryRouter = mock(ReminderRetryRouter.class);
+        when(retryRouter.park(any(), anyString())).thenReturn(true);
+        when(retryRouter.retry(any(), anyString())).thenReturn(true);
+        channel = mock(Channel.class);
+        consumer = new ReminderConsumer(new EmailConfig(mailSender, templateEngine), retryRouter, converter, 2);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        consumer.shutdown();
+        greenMail.stop();
+    }
+
+    @Test
+    void batchIsSentOverOneSmtpSession() throws Exception {
+        List<Message> batch = List.of(digest(1, "ann@example.com"), digest(2, "bob@example.com"),
+                digest(3, "cy@example.com"));
+
+        consumer.processReminderDigests(batch, channel);
+
+        assertEquals(1, smtpSessions.get());
+        assertEquals(3, greenMail.getReceivedMessages().length);
+        for (long tag = 1; tag <= 3; tag++) {
+            verify(channel).basicAck(tag, false);
+        }
+    }
+
+    @Test
+    void rejectedRecipientIsParkedAndTheRestAcked() throws Exception {
+        Message rejected = digest(2, "gone" + REJECTED_DOMAIN);
+        List<Message> batch = List.of(digest(1, "ann@example.com"), rejected, digest(3, "cy@example.com"));
+
+        consumer.processReminderDigests(batch, channel);
+
+        assertEquals(1, smtpSessions.get());
+        assertEquals(2, greenMail.getReceivedMessages().length);
+        verify(retryRouter).park(eq(rejected), anyString());
+        verify(retryRouter, never()).retry(any(), anyString());
+        // Acked once parked, like the deliveries that went out
+        for (long tag = 1; tag <= 3; tag++) {
+            verify(channel).basicAck(tag, false);
+        }
+    }
+
+    @Test
+    void renderFailureIsParkedWithoutRetry() throws Exception {
+        Message unrenderable = digest(2, " ");
+        List<Message> batch = List.of(digest(1, "ann@example.com"), unrenderable);
+
+        consumer.processReminderDigests(batch, channel);
+
+        verify(retryRouter).park(eq(unrenderable), startsWith("render failed"));
+        verify(retryRouter, never()).retry(any(), anyString());
+        assertEquals(1, greenMail.getReceivedMessages().length);
+        verify(channel).basicAck(1L, false);
+        verify(channel).basicAck(2L, false);
+    }
+
+    // Helper method: a one-reminder digest delivery with the given delivery tag
+    private Message digest(long deliveryTag, String email) {
+        ReminderDigestMessage digest = new ReminderDigestMessage();
+        digest.setUserId(deliveryTag);
+        digest.setEmail(email);
+        digest.setMonthly(new ReminderDigestMessage.Monthly(LocalDate.of(2024, 4, 1), 12));
+
+        MessageProperties properties = new MessageProperties();
+        properties.setDeliveryTag(deliveryTag);
+        return converter.toMessage(digest, properties);
+    }
+
+    // GreenMail takes every recipient; this one answers 550 at RCPT for the rejected domain
+    private static final class RejectingGreenMail extends GreenMail {
+        RejectingGreenMail(ServerSetup setup) {
+            super(setup);
+        }
+
+        @Override
+        protected Map<String, AbstractServer> createServices(ServerSetup[] config, Managers managers) {
+            SmtpManager rejecting = new SmtpManager(managers.getImapHostManager(), managers.getUserManager()) {
+                @Override
+                public String checkRecipient(SmtpState state, MailAddress rcpt) {
+                    return rcpt.getEmail().endsWith(REJECTED_DOMAIN)
+                            ? "550 Mailbox unavailable" : super.checkRecipient(state, rcpt);
+                }
+            };
+            return super.createServices(config, new Managers() {
+                @Override
+                public SmtpManager getSmtpManager() {
+                    return rejecting;
+                }
+
+                @Override
+                public UserManager getUserManager() {
+                    return managers.getUserManager();
+                }
+
+                @Override
+                public ImapHostManager getImapHostManager() {
+                    return managers.getImapHostManager();
+                }
+            });
+        }
+    }
+}
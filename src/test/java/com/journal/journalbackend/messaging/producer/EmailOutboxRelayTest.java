@@ -0,0 +1,102 @@
+package com.journal.journalbackend.messaging.producer;
+
+import com.journal.journalbackend.messaging.AccountEmailMessage;
+import com.journal.journalbackend.model.EmailOutbox;
+import com.journal.journalbackend.repository.EmailOutboxRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.amqp.AmqpConnectException;
+import org.springframework.amqp.rabbit.connection.CorrelationData;
+import org.springframework.amqp.rabbit.core.RabbitTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class EmailOutboxRelayTest {
+    private static final int BATCH_SIZE = 3;
+    private static final int MAX_ATTEMPTS = 3;
+
+    private EmailOutboxRepository repository;
+    private RabbitTemplate rabbitTemplate;
+    private EmailOutboxRelay relay;
+    private List<EmailOutbox> rows;
+
+    @BeforeEach
+    void setUp() {
+        repository = mock(EmailOutboxRepository.class);
+        rabbitTemplate = mock(RabbitTemplate.class);
+        PlatformTransactionManager transactionManager = mock(PlatformTransactionManager.class);
+        when(transactionManager.getTransaction(any())).thenReturn(new SimpleTransactionStatus());
+
+        rows = new ArrayList<>();
+        for (long id = 1; id <= BATCH_SIZE; id++) {
+            EmailOutbox row = new EmailOutbox(EmailOutbox.Type.VERIFICATION, "user@example.com", "token", "Ann");
+            ReflectionTestUtils.setField(row, "id", id);
+            rows.add(row);
+        }
+        // A full batch is always pending, as during a broker outage with a backlog
+        when(repository.lockUnpublished(any(LocalDateTime.class), anyInt())).thenReturn(rows);
+
+        relay = new EmailOutboxRelay(repository, rabbitTemplate, transactionManager, BATCH_SIZE,
+                Duration.ofMillis(100), Duration.ofDays(7), Duration.ofSeconds(10), Duration.ofMinutes(10),
+                MAX_ATTEMPTS);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        relay.shutdown();
+    }
+
+    @Test
+    void failedBatchEndsThePassAndBacksRowsOff() throws InterruptedException {
+        doThrow(new AmqpConnectException(new RuntimeException("broker down"))).when(rabbitTemplate)
+                .convertAndSend(anyString(), any(AccountEmailMessage.class), any(CorrelationData.class));
+
+        relay.wake();
+        verify(repository, timeout(2000)).saveAll(rows);
+        Thread.sleep(200);
+
+        verify(repository, times(1)).lockUnpublished(any(LocalDateTime.class), anyInt());
+        for (EmailOutbox row : rows) {
+            assertEquals(1, row.getAttempts());
+            assertNull(row.getPublishedAt());
+            assertTrue(row.getNextAttemptAt().isAfter(LocalDateTime.now().plusSeconds(5)));
+        }
+    }
+
+    @Test
+    void rowsAreParkedAfterMaxAttempts() throws InterruptedException {
+        doThrow(new AmqpConnectException(new RuntimeException("broker down"))).when(rabbitTemplate)
+                .convertAndSend(anyString(), any(AccountEmailMessage.class), any(CorrelationData.class));
+        rows.forEach(row -> row.setAttempts(MAX_ATTEMPTS - 1));
+
+        relay.wake();
+        verify(repository, timeout(2000)).saveAll(rows);
+        Thread.sleep(200);
+
+        for (EmailOutbox row : rows) {
+            assertEquals(MAX_ATTEMPTS, row.getAttempts());
+            assertNotNull(row.getParkedAt());
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package com.journal.journalbackend.security;
+
+import com.journal.journalbackend.model.User;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class JwtTokenProviderTest {
+
+    private static final String SECRET = "test-secret-that-is-long-enough-for-hs256";
+
+    private JwtTokenProvider provider;
+
+    @BeforeEach
+    void setUp() {
+        provider = newProvider(60_000);
+    }
+
+    @Test
+    void verifiedUserCarriesIdAndUsername() {
+        AuthenticatedUser user = provider.getVerifiedUser(provider.generateToken(user(42L, "alice")));
+
+        assertEquals(42L, user.getUserId());
+        assertEquals("alice", user.getName());
+    }
+
+    @Test
+    void repeatVerificationIsServedFromCache() {
+        String token = provider.generateToken(user(42L, "alice"));
+
+        assertSame(provider.getVerifiedUser(token), provider.getVerifiedUser(token));
+    }
+
+    @Test
+    void tokenSignedWithAnotherKeyIsRejected() {
+        JwtTokenProvider other = new JwtTokenProvider("another-secret-that-is-long-enough-for-hs256",
+                new SimpleMeterRegistry(), 100);
+        ReflectionTestUtils.setField(other, "jwtExpirationMs", 60_000);
+
+        assertNull(provider.getVerifiedUser(other.generateToken(user(42L, "alice"))));
+    }
+
+    @Test
+    void expiredTokenIsRejected() {
+        JwtTokenProvider expired = newProvider(-1_000);
+
+        assertNull(expired.getVerifiedUser(expired.generateToken(user(42L, "alice"))));
+    }
+
+    @Test
+    void malformedTokenIsRejected() {
+        assertNull(provider.getVerifiedUser("not.a.token"));
+    }
+
+    // Helper method: provider issuing tokens that expire after the given number of milliseconds
+    private static JwtTokenProvider newProvider(int expirationMs) {
+        JwtTokenProvider provider = new JwtTokenProvider(SECRET, new SimpleMeterRegistry(), 100);
+        ReflectionTestUtils.setField(provider, "jwtExpirationMs", expirationMs);
+        return provider;
+    }
+
+    // Helper method: persisted user with the given id
+    private static User user(Long id, String username) {
+        User user = new User();
+        user.setId(id);
+        user.setUsername(username);
+        return user;
+    }
+}
@@ -0,0 +1,41 @@
+package com.journal.journalbackend.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Base64;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class EntryCursorTest {
+
+    @Test
+    void encodeDecodeRoundTrip() {
+        EntryCursor cursor = new EntryCursor(LocalDate.of(2024, 2, 29), 123456789L);
+
+        EntryCursor decoded = EntryCursor.decode(cursor.encode());
+
+        assertEquals(cursor.getEntryDate(), decoded.getEntryDate());
+        assertEquals(cursor.getId(), decoded.getId());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"not base64!", "", "2024-01-01", "2024-13-01:5", "2024-01-01:abc", "2024-01-01:"})
+    void malformedCursorIsBadRequest(String raw) {
+        // Valid base64 around invalid content, plus one token that is not base64 at all
+        String token = raw.equals("not base64!") ? raw : encode(raw);
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, () -> EntryCursor.decode(token));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    }
+
+    private static String encode(String raw) {
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+}
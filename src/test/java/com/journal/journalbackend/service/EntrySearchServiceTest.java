@@ -0,0 +1,142 @@
+package com.journal.journalbackend.service;
+
+import com.journal.journalbackend.dto.response.EntrySearchResult;
+import com.journal.journalbackend.model.Entry;
+import com.journal.journalbackend.model.Journal;
+import com.journal.journalbackend.model.User;
+import com.journal.journalbackend.repository.EntryRepository;
+import com.journal.journalbackend.repository.JournalRepository;
+import com.journal.journalbackend.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.apache.lucene.index.DirectoryReader;
+import org.apache.lucene.store.Directory;
+import org.apache.lucene.store.FSDirectory;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+// Changes reach the index through the watermark catch-up alone, as they would on an instance that did not serve them
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+class EntrySearchServiceTest {
+
+    @Autowired
+    private EntryRepository entryRepository;
+    @Autowired
+    private JournalRepository journalRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    @TempDir
+    Path indexDir;
+
+    private EntrySearchService searchService;
+    private Journal journal;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(new User("Ann", "Lee", "ann", "ann@example.com", "hash"));
+        journal = journalRepository.save(new Journal("Daily", user, LocalDateTime.now(), LocalDateTime.now()));
+        userId = user.getId();
+        searchService = openIndex();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        if (searchService != null) {
+            searchService.close();
+        }
+    }
+
+    @Test
+    void entryWrittenElsewhereIsReplayed() throws Exception {
+        searchService.catchUp();
+        saveEntry("Lisbon", "tram rides along the river");
+
+        searchService.catchUp();
+        searchService.refresh();
+
+        assertEquals(List.of("Lisbon"), titles(searchService.search("tram", null, 10, userId).getResults()));
+    }
+
+    @Test
+    void softDeleteElsewhereIsReplayed() throws Exception {
+        Entry entry = saveEntry("Lisbon", "tram rides along the river");
+        searchService.catchUp();
+
+        entry.setDeletedAt(LocalDateTime.now());
+        entryRepository.saveAndFlush(entry);
+        searchService.catchUp();
+        searchService.commit();
+
+        // Checked on the index itself, since search results would also hide the entry by re-checking it
+        try (Directory directory = FSDirectory.open(indexDir);
+             DirectoryReader reader = DirectoryReader.open(directory)) {
+            assertEquals(0, reader.numDocs());
+        }
+    }
+
+    @Test
+    void hardDeletedEntryIsDroppedFromResults() throws Exception {
+        Entry entry = saveEntry("Lisbon", "tram rides along the river");
+        searchService.catchUp();
+        searchService.refresh();
+
+        entryRepository.delete(entry);
+        entityManager.flush();
+
+        assertTrue(searchService.search("tram", null, 10, userId).getResults().isEmpty());
+    }
+
+    @Test
+    void restartResumesFromTheCommittedWatermark() throws Exception {
+        saveEntry("Lisbon", "tram rides along the river");
+        searchService.catchUp();
+        searchService.commit();
+        searchService.close();
+        searchService = null;
+
+        try (Directory directory = FSDirectory.open(indexDir);
+             DirectoryReader reader = DirectoryReader.open(directory)) {
+            assertTrue(reader.getIndexCommit().getUserData().containsKey("watermark"));
+        }
+
+        // Written while this instance was down
+        saveEntry("Porto", "tram up the hill");
+        searchService = openIndex();
+        searchService.catchUp();
+        searchService.refresh();
+
+        assertEquals(2, searchService.search("tram", null, 10, userId).getResults().size());
+    }
+
+    // Helper method: search service over the test index directory
+    private EntrySearchService openIndex() {
+        return new EntrySearchService(entryRepository, indexDir.toString(), 5000, Duration.ofMinutes(1));
+    }
+
+    // Helper method: entry saved straight through the repository, so no live index event is raised
+    private Entry saveEntry(String title, String body) {
+        Entry entry = new Entry(title, body, LocalDate.of(2024, 5, 10), journal);
+        entry.setCreatedAt(LocalDateTime.now());
+        return entryRepository.saveAndFlush(entry);
+    }
+
+    private static List<String> titles(List<EntrySearchResult> results) {
+        return results.stream().map(EntrySearchResult::getTitle).toList();
+    }
+}
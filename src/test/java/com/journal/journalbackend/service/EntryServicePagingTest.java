@@ -0,0 +1,129 @@
+package com.journal.journalbackend.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.journal.journalbackend.dto.response.EntryPageResponse;
+import com.journal.journalbackend.dto.response.EntryResponse;
+import com.journal.journalbackend.model.Entry;
+import com.journal.journalbackend.model.Journal;
+import com.journal.journalbackend.model.User;
+import com.journal.journalbackend.repository.EntryRepository;
+import com.journal.journalbackend.repository.EntryVersionRepository;
+import com.journal.journalbackend.repository.JournalRepository;
+import com.journal.journalbackend.repository.TagRepository;
+import com.journal.journalbackend.repository.UserRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+// Keyset paging against a real schema: the cursor predicate lives in the repository query
+@DataJpaTest(properties = "spring.jpa.hibernate.ddl-auto=create-drop")
+class EntryServicePagingTest {
+
+    @Autowired
+    private EntryRepository entryRepository;
+    @Autowired
+    private JournalRepository journalRepository;
+    @Autowired
+    private UserRepository userRepository;
+    @Autowired
+    private EntityManager entityManager;
+
+    private EntryService entryService;
+    private Long journalId;
+    private Long userId;
+
+    @BeforeEach
+    void setUp() {
+        User user = userRepository.save(new User("Ann", "Lee", "ann", "ann@example.com", "hash"));
+        Journal journal = journalRepository.save(
+                new Journal("Daily", user, LocalDateTime.now(), LocalDateTime.now()));
+        userId = user.getId();
+        journalId = journal.getId();
+
+        JournalOwnershipCache ownershipCache = mock(JournalOwnershipCache.class);
+        when(ownershipCache.getOwnerId(journalId)).thenReturn(userId);
+        entryService = new EntryService(entryRepository, journalRepository, userRepository,
+                mock(TagRepository.class), mock(EntryVersionRepository.class), mock(EntryResponseCache.class),
+                ownershipCache, mock(EntrySearchService.class), mock(VersionBodyStore.class),
+                mock(EntryCountRollup.class), entityManager, new ObjectMapper());
+    }
+
+    @Test
+    void pagesDoNotOverlapWhenEntriesShareADate() {
+        // Seven entries on one day and three on the day before, so page boundaries fall inside a date
+        LocalDate day = LocalDate.of(2024, 5, 10);
+        for (int i = 0; i < 7; i++) {
+            saveEntry("same day " + i, day);
+        }
+        for (int i = 0; i < 3; i++) {
+            saveEntry("day before " + i, day.minusDays(1));
+        }
+        entityManager.flush();
+        entityManager.clear();
+
+        List<EntryResponse> seen = new ArrayList<>();
+        Set<Long> ids = new HashSet<>();
+        String cursor = null;
+        int pages = 0;
+        do {
+            EntryPageResponse page = entryService.getEntriesPage(journalId, cursor, 3, userId);
+            for (EntryResponse entry : page.getEntries()) {
+                assertTrue(ids.add(entry.getId()), "entry " + entry.getId() + " appeared on two pages");
+                seen.add(entry);
+            }
+            cursor = page.getNext();
+            pages++;
+        } while (cursor != null);
+
+        assertEquals(10, seen.size());
+        assertEquals(4, pages);
+        // Newest date first, and within a date the higher id first
+        for (int i = 1; i < seen.size(); i++) {
+            EntryResponse previous = seen.get(i - 1);
+            EntryResponse current = seen.get(i);
+            int byDate = current.getEntryDate().compareTo(previous.getEntryDate());
+            assertTrue(byDate < 0 || (byDate == 0 && current.getId() < previous.getId()));
+        }
+    }
+
+    @Test
+    void lastPageHasNoCursor() {
+        saveEntry("only", LocalDate.of(2024, 5, 10));
+
+        EntryPageResponse page = entryService.getEntriesPage(journalId, null, 20, userId);
+
+        assertEquals(1, page.getEntries().size());
+        assertNull(page.getNext());
+    }
+
+    @Test
+    void malformedCursorIsBadRequest() {
+        ResponseStatusException e = assertThrows(ResponseStatusException.class,
+                () -> entryService.getEntriesPage(journalId, "%%not-a-cursor%%", 20, userId));
+        assertEquals(HttpStatus.BAD_REQUEST, e.getStatusCode());
+    }
+
+    private void saveEntry(String title, LocalDate entryDate) {
+        Entry entry = new Entry(title, "body", entryDate, journalRepository.getReferenceById(journalId));
+        entry.setCreatedAt(LocalDateTime.now());
+        entryRepository.save(entry);
+    }
+}
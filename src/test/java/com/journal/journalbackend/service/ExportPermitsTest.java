@@ -0,0 +1,32 @@
+package com.journal.journalbackend.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.server.ResponseStatusException;
+
+import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ExportPermitsTest {
+
+    @Test
+    void exportBeyondTheCapIsTurnedAwayWith503() {
+        ExportPermits permits = new ExportPermits(2, new SimpleMeterRegistry());
+        permits.acquire();
+        permits.acquire();
+
+        ResponseStatusException e = assertThrows(ResponseStatusException.class, permits::acquire);
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, e.getStatusCode());
+    }
+
+    @Test
+    void releasedSlotCanBeTakenAgain() {
+        ExportPermits permits = new ExportPermits(1, new SimpleMeterRegistry());
+        permits.acquire();
+        permits.release();
+
+        assertDoesNotThrow(permits::acquire);
+    }
+}
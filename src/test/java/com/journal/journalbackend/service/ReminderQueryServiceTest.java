@@ -0,0 +1,165 @@
+package com.journal.journalbackend.service;
+
+import com.journal.journalbackend.repository.EntryRepository;
+import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the one-query-per-zone memory-lane count with the per-user loop it replaced, on seeded users.
+ * Runs with 1,000 users by default; pass -Dmemory-lane.users=100000 for the full-size comparison.
+ */
+@DataJpaTest(properties = {
+        "spring.jpa.hibernate.ddl-auto=create-drop",
+        "spring.jpa.properties.hibernate.generate_statistics=true"
+})
+class ReminderQueryServiceTest {
+    private static final Logger logger = LoggerFactory.getLogger(ReminderQueryServiceTest.class);
+
+    private static final int USERS = Integer.getInteger("memory-lane.users", 1_000);
+    private static final ZoneId ZONE = ZoneId.of("Europe/Lisbon");
+    private static final ZoneId OTHER_ZONE = ZoneId.of("America/New_York");
+    private static final LocalDate TODAY = LocalDate.of(2024, 6, 15);
+    private static final int BATCH_SIZE = 1_000;
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntryRepository entryRepository;
+    @Autowired
+    private DataSource dataSource;
+
+    private ReminderQueryService reminderQueryService;
+    private Statistics statistics;
+    private final List<Long> verifiedUsersInZone = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        reminderQueryService = new ReminderQueryService(entityManager);
+        statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        seed();
+    }
+
+    @Test
+    void oneQueryPerZoneMatchesThePerUserLoop() {
+        // Warm both paths once so the timings compare steady-state work
+        reminderQueryService.countMemoryLaneEntries(ZONE, TODAY, 0, 1);
+        perUserLoop();
+
+        statistics.clear();
+        long start = System.nanoTime();
+        MemoryLaneCounts counts = reminderQueryService.countMemoryLaneEntries(ZONE, TODAY, 0, 1);
+        long setBasedNanos = System.nanoTime() - start;
+        long setBasedStatements = statistics.getPrepareStatementCount();
+
+        statistics.clear();
+        start = System.nanoTime();
+        Map<Long, long[]> expected = perUserLoop();
+        long loopNanos = System.nanoTime() - start;
+        long loopStatements = statistics.getPrepareStatementCount();
+
+        logger.info("Memory lane counts for {} users: one query {} statement(s) in {} ms, per-user loop {} statements in {} ms",
+                USERS, setBasedStatements, TimeUnit.NANOSECONDS.toMillis(setBasedNanos),
+                loopStatements, TimeUnit.NANOSECONDS.toMillis(loopNanos));
+
+        // Every verified user of the zone has entries in exactly one window
+        assertEquals(verifiedUsersInZone.size(), expected.size());
+        assertEquals(expected.keySet(), counts.getCounts().keySet());
+        expected.forEach((userId, byMonthsAgo) ->
+                assertArrayEquals(byMonthsAgo, counts.getCounts().get(userId), "counts for user " + userId));
+        assertEquals(1, setBasedStatements);
+        assertEquals((long) verifiedUsersInZone.size() * MemoryLaneCounts.MAX_MONTHS_AGO, loopStatements);
+        assertTrue(setBasedNanos < loopNanos);
+    }
+
+    // The replaced scheduler logic: eleven count queries for every verified user of the zone
+    private Map<Long, long[]> perUserLoop() {
+        Map<Long, long[]> counts = new HashMap<>();
+        for (Long userId : verifiedUsersInZone) {
+            for (int monthsAgo = 1; monthsAgo <= MemoryLaneCounts.MAX_MONTHS_AGO; monthsAgo++) {
+                LocalDate date = TODAY.minusMonths(monthsAgo).withDayOfMonth(TODAY.getDayOfMonth());
+                LocalDateTime start = toUtc(date.atStartOfDay(), ZONE);
+                LocalDateTime end = toUtc(date.plusDays(1).atStartOfDay(), ZONE).minusNanos(1);
+                long count = entryRepository.countByUserAndDateRange(userId, start, end);
+                if (count > 0) {
+                    counts.computeIfAbsent(userId, id -> new long[MemoryLaneCounts.MAX_MONTHS_AGO + 1])[monthsAgo] = count;
+                }
+            }
+        }
+        return counts;
+    }
+
+    // Helper method: users with one journal each, split over two zones, a tenth unverified. Each has
+    // two entries inside a memory-lane window, one deleted inside it and one outside every window.
+    private void seed() {
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        LocalDateTime now = LocalDateTime.of(2024, 6, 15, 12, 0);
+        List<Object[]> users = new ArrayList<>();
+        List<Object[]> journals = new ArrayList<>();
+        List<Object[]> entries = new ArrayList<>();
+        long entryId = 1;
+        for (long id = 1; id <= USERS; id++) {
+            ZoneId zone = id % 2 == 0 ? ZONE : OTHER_ZONE;
+            boolean verified = id % 10 != 0;
+            if (verified && zone.equals(ZONE)) {
+                verifiedUsersInZone.add(id);
+            }
+            users.add(new Object[]{id, "First", "Last", "user" + id, "user" + id + "@example.com", "hash",
+                    verified, Timestamp.valueOf(now), zone.getId()});
+            journals.add(new Object[]{id, "Journal " + id, id, Timestamp.valueOf(now)});
+
+            int monthsAgo = (int) (id % MemoryLaneCounts.MAX_MONTHS_AGO) + 1;
+            LocalDate inWindow = TODAY.minusMonths(monthsAgo);
+            LocalDate outsideWindows = TODAY.minusMonths(monthsAgo).minusDays(3);
+            entries.add(entry(entryId++, id, toUtc(inWindow.atTime(8, 30), zone), false));
+            entries.add(entry(entryId++, id, toUtc(inWindow.atTime(23, 59), zone), false));
+            entries.add(entry(entryId++, id, toUtc(inWindow.atTime(12, 0), zone), true));
+            entries.add(entry(entryId++, id, toUtc(outsideWindows.atTime(12, 0), zone), false));
+        }
+
+        insert(jdbc, "INSERT INTO users (id, first_name, last_name, username, email, password_hash, is_verified, " +
+                "created_at, timezone) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?)", users);
+        insert(jdbc, "INSERT INTO journals (id, title, user_id, created_at) VALUES (?, ?, ?, ?)", journals);
+        insert(jdbc, "INSERT INTO entries (id, title, body, entry_date, journal_id, created_at, updated_at, deleted_at) " +
+                "VALUES (?, 'Entry', 'Body', ?, ?, ?, ?, ?)", entries);
+    }
+
+    private static Object[] entry(long id, long journalId, LocalDateTime createdAtUtc, boolean deleted) {
+        Timestamp createdAt = Timestamp.valueOf(createdAtUtc);
+        return new Object[]{id, createdAtUtc.toLocalDate(), journalId, createdAt, createdAt,
+                deleted ? createdAt : null};
+    }
+
+    private static void insert(JdbcTemplate jdbc, String sql, List<Object[]> rows) {
+        for (int from = 0; from < rows.size(); from += BATCH_SIZE) {
+            jdbc.batchUpdate(sql, rows.subList(from, Math.min(from + BATCH_SIZE, rows.size())));
+        }
+    }
+
+    private static LocalDateTime toUtc(LocalDateTime local, ZoneId zone) {
+        return local.atZone(zone).withZoneSameInstant(ZoneOffset.UTC).toLocalDateTime();
+    }
+}
@@ -0,0 +1,89 @@
+package com.journal.journalbackend.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class VersionBodyDeltaTest {
+
+    private static void assertRoundTrip(String base, String target) {
+        String delta = VersionBodyDelta.encode(base, target);
+        assertEquals(target, VersionBodyDelta.apply(base, delta));
+    }
+
+    @Test
+    void roundTripsEmptyBodies() {
+        assertRoundTrip("", "");
+        assertRoundTrip("", "A new entry written from nothing at all.");
+        assertRoundTrip("An entry whose body is about to be cleared out.", "");
+    }
+
+    @Test
+    void roundTripsEditsInsideLongBodies() {
+        String base = "Today I walked along the river and watched the boats. ".repeat(20);
+        assertRoundTrip(base, base);
+        assertRoundTrip(base, "Morning. " + base);
+        assertRoundTrip(base, base + " Evening came quickly.");
+        assertRoundTrip(base, base.substring(0, 300) + "an edit in the middle" + base.substring(310));
+    }
+
+    @Test
+    void unchangedBodyEncodesAsCopies() {
+        String base = "A body long enough to contain several blocks of sixteen code points.";
+        String delta = VersionBodyDelta.encode(base, base);
+        assertTrue(delta.length() < base.length(), delta);
+    }
+
+    @Test
+    void roundTripsSurrogatePairs() {
+        String base = "Trip notes 🏔️🚞 day one 😀😀😀 and the 𝄞 music sheet we found. ".repeat(8);
+        assertRoundTrip(base, base.replace("😀", "😢"));
+        assertRoundTrip(base, "🎉" + base + "🎉");
+        assertRoundTrip(base, base.substring(0, 64) + base.substring(128));
+        assertRoundTrip("😀", "😀😀");
+        assertRoundTrip("😀😀", "");
+    }
+
+    @Test
+    void roundTripsRandomEditsIncludingSurrogates() {
+        Random random = new Random(42);
+        String alphabet = "abc de\n😀𝄞é";
+        int[] codePoints = alphabet.codePoints().toArray();
+        for (int run = 0; run < 200; run++) {
+            String base = randomText(random, codePoints, random.nextInt(300));
+            StringBuilder target = new StringBuilder();
+            int[] baseCodePoints = base.codePoints().toArray();
+            int pos = 0;
+            while (pos < baseCodePoints.length) {
+                int span = 1 + random.nextInt(40);
+                int end = Math.min(pos + span, baseCodePoints.length);
+                switch (random.nextInt(3)) {
+                    case 0 -> target.append(new String(baseCodePoints, pos, end - pos));
+                    case 1 -> target.append(randomText(random, codePoints, random.nextInt(10)));
+                    default -> {
+                        // drop this span
+                    }
+                }
+                pos = end;
+            }
+            assertRoundTrip(base, target.toString());
+        }
+    }
+
+    @Test
+    void rejectsCorruptDelta() {
+        assertThrows(IllegalStateException.class, () -> VersionBodyDelta.apply("base", "X1:a"));
+    }
+
+    private static String randomText(Random random, int[] codePoints, int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            text.appendCodePoint(codePoints[random.nextInt(codePoints.length)]);
+        }
+        return text.toString();
+    }
+}
@@ -0,0 +1,95 @@
+package com.journal.journalbackend.service;
+
+import com.journal.journalbackend.model.EntryVersion;
+import com.journal.journalbackend.repository.EntryVersionRepository;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.lang.reflect.Proxy;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of rebuilding one version body against the number of versions walked back to its snapshot,
+ * from 1 (the snapshot itself) to the default snapshot-interval. Bases come from memory, so this is
+ * the delta-application cost alone; in production each step back is also one primary-key lookup.
+ *
+ * Run with: mvn test-compile, then
+ *   java -cp target/test-classes:target/classes:&lt;test classpath&gt; org.openjdk.jmh.Main VersionBodyStoreBenchmark
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VersionBodyStoreBenchmark {
+    private static final int SNAPSHOT_INTERVAL = 10;
+    private static final String PARAGRAPH =
+            "Walked along the river before work and watched the rowing crews go out in the fog. ";
+
+    @Param({"1", "2", "3", "4", "5", "6", "7", "8", "9", "10"})
+    public int chainLength;
+
+    private VersionBodyStore store;
+    private EntryVersion latest;
+
+    @Setup
+    public void setUp() {
+        Map<Long, EntryVersion> versions = new HashMap<>();
+        EntryVersionRepository repository = (EntryVersionRepository) Proxy.newProxyInstance(
+                EntryVersionRepository.class.getClassLoader(), new Class<?>[]{EntryVersionRepository.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("findById")) {
+                        return Optional.ofNullable(versions.get((Long) args[0]));
+                    }
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        store = new VersionBodyStore(repository, SNAPSHOT_INTERVAL);
+
+        // A ~4 KB entry edited a sentence at a time, the typical shape of a journal revision
+        String body = PARAGRAPH.repeat(50);
+        EntryVersion base = null;
+        String baseBody = null;
+        for (long id = 1; id <= chainLength; id++) {
+            if (base != null) {
+                int at = (int) (id * 997 % body.length());
+                body = body.substring(0, at) + "Edit " + id + " added a thought here. " + body.substring(at);
+            }
+            EntryVersion version = new EntryVersion();
+            store.write(version, body, base, baseBody);
+            version.setId(id);
+            versions.put(id, version);
+            base = version;
+            baseBody = body;
+        }
+        latest = base;
+        if (latest.getChainDepth() != chainLength - 1) {
+            throw new IllegalStateException("Expected a chain of " + chainLength + " but built depth "
+                    + latest.getChainDepth());
+        }
+    }
+
+    @Benchmark
+    public String resolve() {
+        return store.resolve(latest);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder().include(VersionBodyStoreBenchmark.class.getSimpleName()).build()).run();
+    }
+}
@@ -0,0 +1,66 @@
+package com.journal.journalbackend.service;
+
+import com.journal.journalbackend.model.EntryVersion;
+import com.journal.journalbackend.repository.EntryVersionRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class VersionBodyStoreTest {
+    private static final int SNAPSHOT_INTERVAL = 3;
+
+    private EntryVersionRepository entryVersionRepository;
+    private VersionBodyStore store;
+    private final Map<Long, EntryVersion> saved = new HashMap<>();
+    private long nextId = 1;
+
+    @BeforeEach
+    void setUp() {
+        entryVersionRepository = mock(EntryVersionRepository.class);
+        when(entryVersionRepository.findById(anyLong()))
+                .thenAnswer(invocation -> Optional.ofNullable(saved.get(invocation.<Long>getArgument(0))));
+        store = new VersionBodyStore(entryVersionRepository, SNAPSHOT_INTERVAL);
+    }
+
+    @Test
+    void snapshotIsReadWithoutQueries() {
+        EntryVersion first = write(null, null, "First body of the entry, long enough to be worth a delta.");
+
+        assertEquals("First body of the entry, long enough to be worth a delta.", store.resolve(first));
+        verify(entryVersionRepository, never()).findById(anyLong());
+    }
+
+    @Test
+    void resolveWalksOnlyBackToTheNearestSnapshot() {
+        String body = "Entry body that changes a little with every edit, so deltas stay small. ".repeat(4);
+        EntryVersion version = write(null, null, body);
+        for (int edit = 1; edit <= 5; edit++) {
+            String next = body + " edit " + edit;
+            version = write(version, body, next);
+            body = next;
+        }
+
+        // Six versions with a snapshot every third: the last is two deltas past the fourth, a snapshot
+        assertEquals(body, store.resolve(version));
+        verify(entryVersionRepository, times(2)).findById(anyLong());
+    }
+
+    private EntryVersion write(EntryVersion base, String baseBody, String body) {
+        EntryVersion version = new EntryVersion();
+        store.write(version, body, base, baseBody);
+        version.setId(nextId++);
+        saved.put(version.getId(), version);
+        return version;
+    }
+}